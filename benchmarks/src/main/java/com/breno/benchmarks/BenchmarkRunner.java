@@ -0,0 +1,51 @@
+package com.breno.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options and adds two defaults:
+ * the GC profiler (allocation rate and bytes per operation next to each score) and
+ * JSON results in jmh-&lt;version&gt;.json, so two releases can be compared file to file.
+ *
+ *   mvn -q install
+ *   java -jar benchmarks/target/benchmarks.jar                      # everything
+ *   java -jar benchmarks/target/benchmarks.jar Dag -p size=100000   # a subset
+ *
+ * The 1M-vertex cases need a few GB of heap: add -jvmArgsAppend -Xmx8g if the default is smaller.
+ * The 10M-vertex cycle detection cases need more, about -Xmx16g; leave them out with -p size=...
+ * IoBenchmark's 100M-edge loader cases need tens of GB; see its class comment.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        if (cli.shouldList()) {
+            new Runner(cli).list();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getProfilers().isEmpty()) options.addProfiler(GCProfiler.class);
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cli.getResult().hasValue()) options.result("jmh-" + version() + ".json");
+        new Runner(options.build()).run();
+    }
+
+    private static String version() {
+        String v = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        return v != null ? v : "dev";
+    }
+}
@@ -0,0 +1,76 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.CycleDetector;
+import com.breno.graph.algorithms.StronglyConnectedComponents;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Strongly connected components and cycle finding on cyclic directed graphs. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComponentsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"erdos-renyi", "rmat"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        public Graph<String> graph;
+        public CsrGraph<String> csr;
+
+        @Setup
+        public void setUp() {
+            graph = GraphGenerators.byName(shape, size, 42).toGraph();
+            csr = graph.freeze();
+        }
+    }
+
+    /** Cycle finding up to 10M vertices; tree-back is a deep tree with a single back arc, so one cycle. */
+    @State(Scope.Benchmark)
+    public static class CycleInput {
+        @Param({"erdos-renyi", "rmat", "tree-back"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        public Graph<String> graph;
+        public CsrGraph<String> csr;
+
+        @Setup
+        public void setUp() {
+            graph = GraphGenerators.byName(shape, size, 42).toGraph();
+            csr = graph.freeze();
+        }
+    }
+
+    @Benchmark
+    public StronglyConnectedComponents.Result<String> tarjan(Input in) {
+        return StronglyConnectedComponents.tarjan(in.csr);
+    }
+
+    @Benchmark
+    public StronglyConnectedComponents.Result<String> forwardBackward(Input in, PoolState p) {
+        return StronglyConnectedComponents.forwardBackward(in.csr, p.pool);
+    }
+
+    @Benchmark
+    public boolean hasCycleDirected(CycleInput in) {
+        return CycleDetector.hasCycleDirected(in.graph);
+    }
+
+    @Benchmark
+    public List<String> findCycleDirected(CycleInput in) {
+        return CycleDetector.findCycleDirected(in.csr);
+    }
+}
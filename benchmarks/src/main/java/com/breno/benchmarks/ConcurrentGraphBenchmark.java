@@ -0,0 +1,97 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.ConcurrentGraph;
+import com.breno.graph.Edge;
+import com.breno.graph.Graph;
+import com.breno.graph.Vertex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed readers and one writer sharing a graph: ConcurrentGraph against a Graph behind
+ * one lock. Reported per operation and per group member (readers / writer). Pass
+ * "-tg 1,1" (or other counts) to change the mix; scaling needs as many cores as threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentGraphBenchmark {
+
+    static final int SIZE = 100_000;
+    static final int DEGREE = 5;
+
+    @State(Scope.Group)
+    public static class Shared {
+        GraphGenerators.EdgeList edges;
+        String[] names;
+        ConcurrentGraph<String> concurrent;
+        Graph<String> locked;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            edges = GraphGenerators.erdosRenyi(SIZE, DEGREE, true, 42);
+            names = edges.names();
+        }
+
+        /** Writers keep adding edges, so each iteration starts from the same graph. */
+        @Setup(Level.Iteration)
+        public void setUp() {
+            concurrent = new ConcurrentGraph<>(true);
+            for (String v : names) concurrent.addVertex(v);
+            for (int i = 0; i < edges.edgeCount(); i++) {
+                concurrent.addEdge(names[edges.from[i]], names[edges.to[i]], edges.weight[i]);
+            }
+            locked = edges.toGraph();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        final SplittableRandom rnd = new SplittableRandom(Thread.currentThread().threadId());
+
+        int vertex() {
+            return rnd.nextInt(SIZE);
+        }
+    }
+
+    @Benchmark
+    @Group("concurrentGraph")
+    @GroupThreads(3)
+    public double concurrentRead(Shared s, Cursor c) {
+        double[] sum = new double[1];
+        s.concurrent.forEachArc(s.names[c.vertex()], (to, w) -> sum[0] += w);
+        return sum[0];
+    }
+
+    @Benchmark
+    @Group("concurrentGraph")
+    @GroupThreads(1)
+    public void concurrentWrite(Shared s, Cursor c) {
+        s.concurrent.addEdge(s.names[c.vertex()], s.names[c.vertex()], 1f);
+    }
+
+    @Benchmark
+    @Group("lockedGraph")
+    @GroupThreads(3)
+    public double lockedRead(Shared s, Cursor c) {
+        double sum = 0;
+        synchronized (s.locked) {
+            Vertex<String> v = s.locked.findVertex(s.names[c.vertex()]).orElseThrow();
+            for (Edge<String> e : s.locked.outgoing(v)) sum += e.getWeight();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Group("lockedGraph")
+    @GroupThreads(1)
+    public void lockedWrite(Shared s, Cursor c) {
+        synchronized (s.locked) {
+            s.locked.addEdge(s.names[c.vertex()], s.names[c.vertex()], 1f);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-DAG passes. On a DAG the cycle detectors cannot stop early, so this is their
+ * worst case. The executor runs empty tasks, which leaves only its scheduling cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DagBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"chain", "dag"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        public Graph<String> graph;
+        public CsrGraph<String> csr;
+
+        @Setup
+        public void setUp() {
+            graph = GraphGenerators.byName(shape, size, 42).toGraph();
+            csr = graph.freeze();
+        }
+    }
+
+    /** The cycle detectors also run at 10M vertices, where recursion would long have overflowed. */
+    @State(Scope.Benchmark)
+    public static class CycleInput {
+        @Param({"chain", "dag", "tree"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        public Graph<String> graph;
+        public CsrGraph<String> csr;
+
+        @Setup
+        public void setUp() {
+            graph = GraphGenerators.byName(shape, size, 42).toGraph();
+            csr = graph.freeze();
+        }
+    }
+
+    @Benchmark
+    public List<String> topologicalSort(Input in) {
+        return TopologicalSort.sort(in.graph);
+    }
+
+    @Benchmark
+    public List<String> topologicalSortCsr(Input in) {
+        return TopologicalSort.sort(in.csr);
+    }
+
+    @Benchmark
+    public List<List<String>> topologicalLevels(Input in) {
+        return TopologicalSort.levels(in.csr);
+    }
+
+    @Benchmark
+    public CriticalPath.Result<String> criticalPath(Input in) {
+        return CriticalPath.longestPath(in.csr);
+    }
+
+    @Benchmark
+    public boolean hasCycleDirected(CycleInput in) {
+        return CycleDetector.hasCycleDirected(in.graph);
+    }
+
+    @Benchmark
+    public List<String> findCycleDirected(CycleInput in) {
+        return CycleDetector.findCycleDirected(in.csr);
+    }
+
+    @Benchmark
+    public DagExecutor.Report<String> executeEmptyTasks(Input in, PoolState p) {
+        return DagExecutor.run(in.csr, v -> { }, p.pool);
+    }
+}
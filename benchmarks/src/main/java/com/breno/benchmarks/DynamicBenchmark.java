@@ -0,0 +1,111 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.DynamicTopologicalOrder;
+import com.breno.graph.algorithms.IncrementalSssp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one edge insertion while a structure is kept up to date by graph events.
+ * The graph grows during an iteration, so it is rebuilt before each one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamicBenchmark {
+
+    static final int PAIRS = 1 << 16;
+
+    /** Random (from, to, weight) triples, consumed round-robin. */
+    public abstract static class Insertions {
+        @Param({"10000", "100000"})
+        public int size;
+
+        GraphGenerators.EdgeList edges;
+        String[] from = new String[PAIRS];
+        String[] to = new String[PAIRS];
+        float[] weight = new float[PAIRS];
+        int next;
+
+        void fill(GraphGenerators.EdgeList edges) {
+            this.edges = edges;
+            Random rnd = new Random(7);
+            for (int i = 0; i < PAIRS; i++) {
+                from[i] = edges.name(rnd.nextInt(size));
+                to[i] = edges.name(rnd.nextInt(size));
+                weight[i] = 1 + rnd.nextFloat() * 99;
+            }
+        }
+
+        int next() {
+            int i = next;
+            next = (next + 1) & (PAIRS - 1);
+            return i;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Sssp extends Insertions {
+        Graph<String> graph;
+        IncrementalSssp<String> sssp;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            fill(GraphGenerators.erdosRenyi(size, 8, true, 42));
+        }
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            graph = edges.toGraph();
+            sssp = new IncrementalSssp<>(graph, "v0");
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            sssp.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Topo extends Insertions {
+        Graph<String> graph;
+        DynamicTopologicalOrder<String> order;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            fill(GraphGenerators.dag(size, 4, 42));
+        }
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            graph = edges.toGraph();
+            order = new DynamicTopologicalOrder<>(graph);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            order.close();
+        }
+    }
+
+    /** Insert, repair, then read the new edge's head distance. */
+    @Benchmark
+    public float incrementalSsspInsert(Sssp s) {
+        int i = s.next();
+        s.graph.addEdge(s.from[i], s.to[i], s.weight[i]);
+        return s.sssp.distance(s.to[i]);
+    }
+
+    /** Random arcs on a DAG: the ones that would close a cycle are rejected, the rest reorder. */
+    @Benchmark
+    public List<String> dynamicTopologicalInsert(Topo t) {
+        int i = t.next();
+        return t.order.addEdge(t.from[i], t.to[i], t.weight[i]);
+    }
+}
@@ -0,0 +1,67 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.ConcurrentGraph;
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.IntGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Building a whole graph edge by edge (Graph, ConcurrentGraph, IntGraph), and freezing it into CSR. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphBuildBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"erdos-renyi", "grid", "rmat", "chain"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        public GraphGenerators.EdgeList edges;
+        public Graph<String> graph;
+
+        @Setup
+        public void setUp() {
+            edges = GraphGenerators.byName(shape, size, 42);
+            edges.names();
+            graph = edges.toGraph();
+        }
+    }
+
+    @Benchmark
+    public Graph<String> graphAddEdge(Input in) {
+        return in.edges.toGraph();
+    }
+
+    @Benchmark
+    public ConcurrentGraph<String> concurrentGraphAddEdge(Input in) {
+        GraphGenerators.EdgeList e = in.edges;
+        String[] names = e.names();
+        ConcurrentGraph<String> g = new ConcurrentGraph<>(e.directed);
+        for (String v : names) g.addVertex(v);
+        for (int i = 0; i < e.edgeCount(); i++) g.addEdge(names[e.from[i]], names[e.to[i]], e.weight[i]);
+        return g;
+    }
+
+    @Benchmark
+    public IntGraph intGraphAddEdge(Input in) {
+        return in.edges.toIntGraph();
+    }
+
+    @Benchmark
+    public IntGraph.Snapshot intGraphAddEdgeAndFreeze(Input in) {
+        return in.edges.toIntGraph().freeze();
+    }
+
+    @Benchmark
+    public CsrGraph<String> freeze(Input in) {
+        return in.graph.freeze();
+    }
+}
@@ -0,0 +1,265 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.IntGraph;
+
+import java.util.*;
+
+/**
+ * Synthetic graphs for the benchmarks. Each is deterministic for its seed, has no
+ * self-loops and names its vertices "v0" .. "v{n-1}". Weights are positive.
+ */
+public final class GraphGenerators {
+    private GraphGenerators() {}
+
+    /** Shapes accepted by byName, in the spelling the @Param lists use. */
+    public static final String ERDOS_RENYI = "erdos-renyi";
+    public static final String GRID = "grid";
+    public static final String RMAT = "rmat";
+    public static final String CHAIN = "chain";
+    public static final String DAG = "dag";
+    public static final String TREE = "tree";
+    public static final String TREE_BACK = "tree-back";
+
+    /** Edge list of a generated graph; an undirected edge is listed once. */
+    public static final class EdgeList {
+        public final int vertexCount;
+        public final boolean directed;
+        public final int[] from;
+        public final int[] to;
+        public final float[] weight;
+        private String[] names;
+
+        EdgeList(int vertexCount, boolean directed, int[] from, int[] to, float[] weight) {
+            this.vertexCount = vertexCount;
+            this.directed = directed;
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+
+        public int edgeCount() {
+            return from.length;
+        }
+
+        public String name(int v) {
+            return names()[v];
+        }
+
+        public String[] names() {
+            if (names == null) {
+                names = new String[vertexCount];
+                for (int v = 0; v < vertexCount; v++) names[v] = "v" + v;
+            }
+            return names;
+        }
+
+        /** Builds the graph through the public API: every vertex first, then addEdge per edge. */
+        public Graph<String> toGraph() {
+            String[] n = names();
+            Graph<String> g = new Graph<>(directed);
+            for (String v : n) g.addVertex(v);
+            for (int i = 0; i < from.length; i++) g.addEdge(n[from[i]], n[to[i]], weight[i]);
+            return g;
+        }
+
+        /** Same graph as an IntGraph keyed by vertex number, through addEdge. */
+        public IntGraph toIntGraph() {
+            IntGraph g = new IntGraph(directed, vertexCount, directed ? from.length : 2 * from.length);
+            for (int v = 0; v < vertexCount; v++) g.addVertex(v);
+            for (int i = 0; i < from.length; i++) g.addEdge(from[i], to[i], weight[i]);
+            return g;
+        }
+
+        /** Same graph straight into CSR, without going through Graph. */
+        public CsrGraph<String> toCsr() {
+            int[] offsets = new int[vertexCount + 1];
+            for (int i = 0; i < from.length; i++) {
+                offsets[from[i] + 1]++;
+                if (!directed) offsets[to[i] + 1]++;
+            }
+            for (int v = 0; v < vertexCount; v++) offsets[v + 1] += offsets[v];
+            int[] next = Arrays.copyOf(offsets, vertexCount);
+            int[] targets = new int[offsets[vertexCount]];
+            float[] weights = new float[targets.length];
+            for (int i = 0; i < from.length; i++) {
+                int a = next[from[i]]++;
+                targets[a] = to[i];
+                weights[a] = weight[i];
+                if (!directed) {
+                    a = next[to[i]]++;
+                    targets[a] = from[i];
+                    weights[a] = weight[i];
+                }
+            }
+            return CsrGraph.of(directed, Arrays.asList(names()), offsets, targets, weights);
+        }
+    }
+
+    /** Default instance of each shape with about n vertices: directed except for the grid. */
+    public static EdgeList byName(String shape, int n, long seed) {
+        return switch (shape) {
+            case ERDOS_RENYI -> erdosRenyi(n, 8, true, seed);
+            case GRID -> grid(n, seed);
+            case RMAT -> rmat(n, 8, seed);
+            case CHAIN -> chain(n);
+            case DAG -> dag(n, 4, seed);
+            case TREE -> tree(n, 0, seed);
+            case TREE_BACK -> tree(n, 1, seed);
+            default -> throw new IllegalArgumentException("Unknown graph shape: " + shape);
+        };
+    }
+
+    /** G(n, m) with m = n * avgDegree arcs (directed) or n * avgDegree / 2 edges, uniform weights in [1, 100). */
+    public static EdgeList erdosRenyi(int n, int avgDegree, boolean directed, long seed) {
+        Random rnd = new Random(seed);
+        int m = (int) Math.min(Integer.MAX_VALUE - 8, directed ? (long) n * avgDegree : (long) n * avgDegree / 2);
+        if (n < 2) m = 0;
+        int[] from = new int[m], to = new int[m];
+        float[] weight = new float[m];
+        for (int i = 0; i < m; i++) {
+            int u = rnd.nextInt(n), v;
+            do {
+                v = rnd.nextInt(n);
+            } while (v == u);
+            from[i] = u;
+            to[i] = v;
+            weight[i] = 1 + rnd.nextFloat() * 99;
+        }
+        return new EdgeList(n, directed, from, to, weight);
+    }
+
+    /**
+     * Road-like: an undirected 4-neighbour grid, sqrt(n) wide, with segment lengths
+     * in [1, 1.5). Large diameter and low degree, like a street network.
+     */
+    public static EdgeList grid(int n, long seed) {
+        Random rnd = new Random(seed);
+        int side = Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+        int[] from = new int[2 * n], to = new int[2 * n];
+        float[] weight = new float[2 * n];
+        int m = 0;
+        for (int v = 0; v < n; v++) {
+            if ((v + 1) % side != 0 && v + 1 < n) {
+                from[m] = v;
+                to[m] = v + 1;
+                weight[m++] = 1 + rnd.nextFloat() * 0.5f;
+            }
+            if (v + side < n) {
+                from[m] = v;
+                to[m] = v + side;
+                weight[m++] = 1 + rnd.nextFloat() * 0.5f;
+            }
+        }
+        return new EdgeList(n, false, Arrays.copyOf(from, m), Arrays.copyOf(to, m), Arrays.copyOf(weight, m));
+    }
+
+    /**
+     * Directed power-law graph by R-MAT recursion (a, b, c, d) = (0.57, 0.19, 0.19, 0.05),
+     * the Graph500 parameters, with n * avgDegree arcs. Ids are shuffled so the hubs are
+     * spread over the id range.
+     */
+    public static EdgeList rmat(int n, int avgDegree, long seed) {
+        Random rnd = new Random(seed);
+        int scale = n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+        int[] perm = permutation(n, rnd);
+        int m = n < 2 ? 0 : (int) Math.min(Integer.MAX_VALUE - 8, (long) n * avgDegree);
+        int[] from = new int[m], to = new int[m];
+        float[] weight = new float[m];
+        for (int i = 0; i < m; ) {
+            int u = 0, v = 0;
+            for (int bit = 0; bit < scale; bit++) {
+                double p = rnd.nextDouble();
+                if (p >= 0.57 && p < 0.76) v |= 1 << bit;
+                else if (p >= 0.76 && p < 0.95) u |= 1 << bit;
+                else if (p >= 0.95) {
+                    u |= 1 << bit;
+                    v |= 1 << bit;
+                }
+            }
+            if (u >= n || v >= n || u == v) continue;
+            from[i] = perm[u];
+            to[i] = perm[v];
+            weight[i++] = 1 + rnd.nextFloat() * 99;
+        }
+        return new EdgeList(n, true, from, to, weight);
+    }
+
+    /** Directed path v0 -> v1 -> ... with unit weights: the deepest possible DAG. */
+    public static EdgeList chain(int n) {
+        int m = Math.max(0, n - 1);
+        int[] from = new int[m], to = new int[m];
+        float[] weight = new float[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+            weight[i] = 1;
+        }
+        return new EdgeList(n, true, from, to, weight);
+    }
+
+    /**
+     * Random DAG with about avgDegree arcs per vertex, each to one of the next 64 vertices
+     * of a hidden order, so it is both deep and wide. Ids are shuffled against that order.
+     */
+    public static EdgeList dag(int n, int avgDegree, long seed) {
+        Random rnd = new Random(seed);
+        int[] perm = permutation(n, rnd);
+        int m = (int) Math.min(Integer.MAX_VALUE - 8, (long) Math.max(0, n - 1) * avgDegree);
+        int[] from = new int[m], to = new int[m];
+        float[] weight = new float[m];
+        int k = 0;
+        for (int i = 0; i < n - 1; i++) {
+            int window = Math.min(64, n - 1 - i);
+            for (int j = 0; j < avgDegree; j++) {
+                from[k] = perm[i];
+                to[k] = perm[i + 1 + rnd.nextInt(window)];
+                weight[k++] = 1 + rnd.nextFloat() * 99;
+            }
+        }
+        return new EdgeList(n, true, from, to, weight);
+    }
+
+    /**
+     * Random deep tree with arcs from parent to child: each vertex hangs off one of the four
+     * before it in a hidden order, so the depth is about n / 2.5. Each of the backArcs extra
+     * arcs runs from a random vertex up to one of its 64 nearest ancestors and closes a
+     * cycle. Ids are shuffled against the hidden order.
+     */
+    public static EdgeList tree(int n, int backArcs, long seed) {
+        Random rnd = new Random(seed);
+        int[] perm = permutation(n, rnd);
+        int[] parent = new int[n];
+        int treeArcs = Math.max(0, n - 1);
+        int m = n < 2 ? 0 : treeArcs + backArcs;
+        int[] from = new int[m], to = new int[m];
+        float[] weight = new float[m];
+        for (int i = 1; i < n; i++) {
+            parent[i] = i - 1 - rnd.nextInt(Math.min(4, i));
+            from[i - 1] = perm[parent[i]];
+            to[i - 1] = perm[i];
+            weight[i - 1] = 1 + rnd.nextFloat() * 99;
+        }
+        for (int k = treeArcs; k < m; k++) {
+            int v = 1 + rnd.nextInt(n - 1), a = v;
+            for (int up = 1 + rnd.nextInt(64); up > 0 && a > 0; up--) a = parent[a];
+            from[k] = perm[v];
+            to[k] = perm[a];
+            weight[k] = 1 + rnd.nextFloat() * 99;
+        }
+        return new EdgeList(n, true, from, to, weight);
+    }
+
+    private static int[] permutation(int n, Random rnd) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) p[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = p[i];
+            p[i] = p[j];
+            p[j] = t;
+        }
+        return p;
+    }
+}
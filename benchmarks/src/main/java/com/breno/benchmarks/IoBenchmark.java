@@ -0,0 +1,210 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.io.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Text and binary I/O through temporary files. The files stay in the page cache, so
+ * this measures parsing and formatting rather than the disk.
+ *
+ * The loader cases read generated text files of 1M to 100M edges and report, besides the
+ * score, megabytes (10^6 bytes) and edges loaded per second, with the loader from before
+ * the streaming parser as the baseline. Building a Graph of 100M edges takes tens of GB
+ * of heap; on smaller machines pass -p edges=1000000,10000000.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IoBenchmark {
+
+    static final int LOGGED_EDGES = 100;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"erdos-renyi", "grid"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        Path dir;
+        Path text;
+        Path binary;
+        Path out;
+        Path binaryOut;
+        Graph<String> graph;
+        String[] names;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            GraphGenerators.EdgeList edges = GraphGenerators.byName(shape, size, 42);
+            names = edges.names();
+            graph = edges.toGraph();
+            dir = Files.createTempDirectory("graph-io-bench");
+            text = dir.resolve("graph.txt");
+            binary = dir.resolve("graph.bin");
+            out = dir.resolve("out.txt");
+            binaryOut = dir.resolve("out.bin");
+            GraphSaver.saveToFile(graph, text);
+            GraphSaver.saveBinary(graph, binary);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteTree(dir);
+        }
+    }
+
+    /** Directed Erdos-Renyi graph with average out-degree 8 and the given edge count, saved as text. */
+    @State(Scope.Benchmark)
+    public static class TextFile {
+        @Param({"1000000", "10000000", "100000000"})
+        public int edges;
+
+        Path dir;
+        Path path;
+        long bytes;
+        long edgeCount;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            GraphGenerators.EdgeList list = GraphGenerators.erdosRenyi(Math.max(2, edges / 8), 8, true, 42);
+            edgeCount = list.edgeCount();
+            dir = Files.createTempDirectory("graph-load-bench");
+            path = dir.resolve("graph.txt");
+            GraphSaver.saveToFile(list.toCsr(), path);
+            bytes = Files.size(path);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteTree(dir);
+        }
+    }
+
+    /**
+     * Loader throughput. JMH divides these counters by the measured time, so they come
+     * out as MB/s and edges/s next to each loader score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rates {
+        public double megabytes;
+        public long edges;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+            edges = 0;
+        }
+
+        void loaded(TextFile f) {
+            megabytes += f.bytes / 1e6;
+            edges += f.edgeCount;
+        }
+    }
+
+    /** A change log over its own copy of the graph, restarted each iteration. */
+    @State(Scope.Benchmark)
+    public static class Log {
+        ChangeLog log;
+        String[] names;
+        final Random rnd = new Random(7);
+
+        @Setup(Level.Iteration)
+        public void setUp(Input f) throws IOException {
+            names = f.names;
+            log = ChangeLog.create(f.dir.resolve("logged.txt"), GraphLoader.loadFromFile(f.text));
+        }
+    }
+
+    /** Baseline for the two below: the line-splitting loader they replaced. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Graph<String> previousLoader(TextFile f, Rates r) throws IOException {
+        Graph<String> g = PreviousGraphLoader.loadFromFile(f.path);
+        r.loaded(f);
+        return g;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Graph<String> loadFromFile(TextFile f, Rates r) throws IOException {
+        Graph<String> g = GraphLoader.loadFromFile(f.path);
+        r.loaded(f);
+        return g;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public CsrGraph<String> parallelLoad(TextFile f, Rates r, PoolState p) throws IOException {
+        CsrGraph<String> g = ParallelGraphLoader.load(f.path, p.pool);
+        r.loaded(f);
+        return g;
+    }
+
+    @Benchmark
+    public void saveToFile(Input f) throws IOException {
+        GraphSaver.saveToFile(f.graph, f.out);
+    }
+
+    @Benchmark
+    public void saveBinary(Input f) throws IOException {
+        GraphSaver.saveBinary(f.graph, f.binaryOut);
+    }
+
+    /** Maps the binary file and walks every arc once. */
+    @Benchmark
+    public double openMapped(Input f) throws IOException {
+        try (MappedGraph g = MappedGraph.open(f.binary)) {
+            double sum = 0;
+            for (int a = 0; a < g.arcCount(); a++) sum += g.arcWeight(a);
+            return sum;
+        }
+    }
+
+    /** LOGGED_EDGES additions then one flush; includes the compactions that the log growth triggers. */
+    @Benchmark
+    @OperationsPerInvocation(LOGGED_EDGES)
+    public void changeLogAppend(Log l) throws IOException {
+        int n = l.names.length;
+        for (int i = 0; i < LOGGED_EDGES; i++) {
+            l.log.addEdge(l.names[l.rnd.nextInt(n)], l.names[l.rnd.nextInt(n)], 1f);
+        }
+        l.log.flush();
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+}
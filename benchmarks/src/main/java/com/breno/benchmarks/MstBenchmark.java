@@ -0,0 +1,47 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.algorithms.MinimumSpanningTree;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** The three spanning tree engines by density: undirected Erdős–Rényi with the given average degree. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MstBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"100000", "1000000"})
+        public int size;
+
+        @Param({"2", "8", "32"})
+        public int degree;
+
+        public CsrGraph<String> csr;
+
+        @Setup
+        public void setUp() {
+            csr = GraphGenerators.erdosRenyi(size, degree, false, 42).toCsr();
+        }
+    }
+
+    @Benchmark
+    public MinimumSpanningTree.Result<String> kruskal(Input in) {
+        return MinimumSpanningTree.kruskal(in.csr);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree.Result<String> prim(Input in) {
+        return MinimumSpanningTree.prim(in.csr);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree.Result<String> boruvka(Input in, PoolState p) {
+        return MinimumSpanningTree.boruvka(in.csr, p.pool);
+    }
+}
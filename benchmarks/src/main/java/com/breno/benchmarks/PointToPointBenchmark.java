@@ -0,0 +1,95 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-point queries on the road-like grid, where goal-directed search pays off:
+ * plain and bidirectional Dijkstra, ALT (A* with landmarks) and Contraction Hierarchies.
+ * Each invocation runs the same PAIRS random pairs; preprocessing is timed separately.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PointToPointBenchmark {
+
+    static final int PAIRS = 64;
+    static final int LANDMARKS = 8;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"10000", "100000"})
+        public int size;
+
+        public Graph<String> graph;
+        public CsrGraph<String> csr;
+        public String[] from = new String[PAIRS];
+        public String[] to = new String[PAIRS];
+        public Landmarks<String> landmarks;
+        public ContractionHierarchy<String> hierarchy;
+
+        @Setup
+        public void setUp() {
+            GraphGenerators.EdgeList edges = GraphGenerators.grid(size, 42);
+            graph = edges.toGraph();
+            csr = graph.freeze();
+            Random rnd = new Random(7);
+            for (int i = 0; i < PAIRS; i++) {
+                from[i] = edges.name(rnd.nextInt(size));
+                to[i] = edges.name(rnd.nextInt(size));
+            }
+            landmarks = Landmarks.select(graph, "v0", LANDMARKS);
+            hierarchy = ContractionHierarchy.build(graph);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void dijkstra(Input in, Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) bh.consume(Dijkstra.shortestPath(in.csr, in.from[i], in.to[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void bidirectionalDijkstra(Input in, Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) bh.consume(Dijkstra.bidirectional(in.graph, in.from[i], in.to[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void alt(Input in, Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) bh.consume(AStar.alt(in.landmarks, in.from[i], in.to[i]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void contractionHierarchy(Input in, Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) bh.consume(in.hierarchy.query(in.from[i], in.to[i]));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public Landmarks<String> selectLandmarks(Input in) {
+        return Landmarks.select(in.graph, "v0", LANDMARKS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public ContractionHierarchy<String> buildHierarchy(Input in) {
+        return ContractionHierarchy.build(in.graph);
+    }
+}
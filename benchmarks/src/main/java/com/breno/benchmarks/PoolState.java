@@ -0,0 +1,25 @@
+package com.breno.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+/** Fork-join pool of a given size, for the parallel engines' thread-scaling runs. */
+@State(Scope.Benchmark)
+public class PoolState {
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    public ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,81 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.DeltaStepping;
+import com.breno.graph.algorithms.Dijkstra;
+import com.breno.graph.algorithms.DistanceMatrix;
+import com.breno.graph.algorithms.QueryCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/** Single-source shortest paths from v0, sequential and parallel, plus many-to-many and cached queries. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShortestPathBenchmark {
+
+    static final int MATRIX_SIDE = 16;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"erdos-renyi", "grid", "rmat"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        public Graph<String> graph;
+        public CsrGraph<String> csr;
+        public String source = "v0";
+        public List<String> sources;
+        public List<String> targets;
+        public QueryCache<String> cache;
+
+        @Setup
+        public void setUp() {
+            GraphGenerators.EdgeList edges = GraphGenerators.byName(shape, size, 42);
+            graph = edges.toGraph();
+            csr = graph.freeze();
+            Random rnd = new Random(7);
+            sources = new ArrayList<>();
+            targets = new ArrayList<>();
+            for (int i = 0; i < MATRIX_SIDE; i++) {
+                sources.add(edges.name(rnd.nextInt(size)));
+                targets.add(edges.name(rnd.nextInt(size)));
+            }
+            cache = new QueryCache<>(graph, 1L << 30);
+            cache.shortestPaths(source);
+        }
+    }
+
+    /** Includes the freeze that Dijkstra.shortestPaths(Graph) does on every call. */
+    @Benchmark
+    public Dijkstra.Result<String> dijkstraGraph(Input in) {
+        return Dijkstra.shortestPaths(in.graph, in.source);
+    }
+
+    @Benchmark
+    public Dijkstra.Result<String> dijkstraCsr(Input in) {
+        return Dijkstra.shortestPaths(in.csr, in.source);
+    }
+
+    @Benchmark
+    public Dijkstra.Result<String> deltaStepping(Input in, PoolState p) {
+        return DeltaStepping.shortestPaths(in.csr, in.source, DeltaStepping.defaultDelta(in.csr), p.pool);
+    }
+
+    @Benchmark
+    public float[][] distanceMatrix(Input in, PoolState p) {
+        return DistanceMatrix.compute(in.csr, in.sources, in.targets, p.pool, p.threads);
+    }
+
+    @Benchmark
+    public Dijkstra.Result<String> queryCacheHit(Input in) {
+        return in.cache.shortestPaths(in.source);
+    }
+}
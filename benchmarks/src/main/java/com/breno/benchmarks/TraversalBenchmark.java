@@ -0,0 +1,48 @@
+package com.breno.benchmarks;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.ParallelBfs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Breadth-first search from v0: Graph.bfs against the parallel CSR engine. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"erdos-renyi", "grid", "rmat", "chain"})
+        public String shape;
+
+        @Param({"10000", "100000", "1000000"})
+        public int size;
+
+        public Graph<String> graph;
+        public CsrGraph<String> csr;
+        public String source = "v0";
+
+        @Setup
+        public void setUp() {
+            GraphGenerators.EdgeList edges = GraphGenerators.byName(shape, size, 42);
+            graph = edges.toGraph();
+            csr = graph.freeze();
+        }
+    }
+
+    @Benchmark
+    public List<String> graphBfs(Input in) {
+        return in.graph.bfs(in.source);
+    }
+
+    @Benchmark
+    public int[] parallelBfs(Input in, PoolState p) {
+        return ParallelBfs.depths(in.csr, in.source, p.pool);
+    }
+}
@@ -0,0 +1,172 @@
+package com.breno.app;
+
+import com.breno.graph.Graph;
+import com.breno.graph.io.ChangeLog;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Non-interactive front ends of Main: the graph is loaded once and query lines (see
+ * QueryEngine) are answered on a worker pool.
+ *
+ *   --batch  grafo [consultas|-] [--json] [--threads N]   answers to stdout, in input order
+ *   --server grafo porta [--json] [--threads N]           one line protocol per connection
+ *
+ * Answers leave in the order the queries arrived. Up to WINDOW_PER_THREAD queries per
+ * worker are in flight; whenever the input has nothing more ready, everything pending
+ * is written and flushed, so a client waiting on its answer is never left hanging.
+ * The server only listens on the loopback address.
+ */
+final class BatchMode {
+    private BatchMode() {}
+
+    static final int WINDOW_PER_THREAD = 64;
+
+    /** Entry point for Main when args[0] is --batch or --server. */
+    static void start(String[] args) {
+        Options o;
+        try {
+            o = Options.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("Uso: --batch <grafo> [consultas|-] [--json] [--threads N]");
+            System.err.println("     --server <grafo> <porta> [--json] [--threads N]");
+            System.exit(2);
+            return;
+        }
+        Graph<String> g;
+        try {
+            g = ChangeLog.open(o.graph).graph();
+        } catch (IOException ex) {
+            System.err.println("Falha ao ler arquivo: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+        QueryEngine engine = new QueryEngine(g, o.json ? QueryEngine.Format.JSON : QueryEngine.Format.TSV);
+        ExecutorService pool = Executors.newFixedThreadPool(o.threads);
+        try {
+            if (o.server) serve(engine, o.port, pool, o.threads);
+            else batch(engine, o.queries, pool, o.threads);
+        } catch (IOException ex) {
+            System.err.println("Falha de E/S: " + ex.getMessage());
+            System.exit(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void batch(QueryEngine engine, Path queries, ExecutorService pool, int threads) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 1 << 16);
+        try (BufferedReader in = queries == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(queries, StandardCharsets.UTF_8)) {
+            run(engine, in, out, pool, threads * WINDOW_PER_THREAD);
+        } finally {
+            out.flush();
+        }
+    }
+
+    /** Accepts clients until the process is stopped; each connection gets its own pipeline on a virtual thread. */
+    private static void serve(QueryEngine engine, int port, ExecutorService pool, int threads) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+             ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor()) {
+            System.err.println("Servindo em " + server.getLocalSocketAddress() + " (Ctrl+C para encerrar)");
+            while (true) {
+                Socket client = server.accept();
+                connections.execute(() -> {
+                    try (client;
+                         BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                         Writer out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+                        run(engine, in, out, pool, threads * WINDOW_PER_THREAD);
+                    } catch (IOException ex) {
+                        System.err.println("Conexão encerrada: " + ex.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Reads query lines until end of input and writes one answer per query, in order.
+     * Blank lines and lines starting with '#' are skipped but still count for the ids,
+     * so an id is the query's line number.
+     */
+    static void run(QueryEngine engine, BufferedReader in, Writer out, ExecutorService pool, int window) throws IOException {
+        ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+        long lineNo = 0;
+        while (true) {
+            if (!pending.isEmpty() && !in.ready()) {
+                while (!pending.isEmpty()) write(out, pending.poll());
+                out.flush();
+            }
+            String line = in.readLine();
+            if (line == null) break;
+            long id = ++lineNo;
+            String q = line.strip();
+            if (q.isEmpty() || q.startsWith("#")) continue;
+            pending.add(pool.submit(() -> engine.execute(id, q)));
+            if (pending.size() >= window) write(out, pending.poll());
+        }
+        while (!pending.isEmpty()) write(out, pending.poll());
+        out.flush();
+    }
+
+    private static void write(Writer out, Future<String> answer) throws IOException {
+        try {
+            out.write(answer.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompido aguardando resposta");
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+        out.write('\n');
+    }
+
+    private record Options(boolean server, Path graph, Path queries, int port, boolean json, int threads) {
+
+        static Options parse(String[] args) {
+            List<String> pos = new ArrayList<>();
+            boolean json = false;
+            int threads = Runtime.getRuntime().availableProcessors();
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--json" -> json = true;
+                    case "--threads" -> {
+                        if (i + 1 == args.length) throw new IllegalArgumentException("--threads sem valor");
+                        threads = positive(args[++i], "--threads");
+                    }
+                    default -> pos.add(args[i]);
+                }
+            }
+            boolean server = args[0].equals("--server");
+            if (pos.isEmpty()) throw new IllegalArgumentException("Arquivo do grafo não informado.");
+            Path graph = Path.of(pos.get(0));
+            if (server) {
+                if (pos.size() != 2) throw new IllegalArgumentException("Informe o grafo e a porta.");
+                return new Options(true, graph, null, positive(pos.get(1), "porta"), json, threads);
+            }
+            if (pos.size() > 2) throw new IllegalArgumentException("Argumentos demais.");
+            Path queries = pos.size() == 2 && !pos.get(1).equals("-") ? Path.of(pos.get(1)) : null;
+            return new Options(false, graph, queries, 0, json, threads);
+        }
+
+        private static int positive(String s, String what) {
+            try {
+                int v = Integer.parseInt(s);
+                if (v > 0) return v;
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+            throw new IllegalArgumentException("Valor inválido para " + what + ": " + s);
+        }
+    }
+}
@@ -1,41 +1,60 @@
 package com.breno.app;
 
 import com.breno.graph.Graph;
+import com.breno.graph.algorithms.CriticalPath;
 import com.breno.graph.algorithms.Dijkstra;
+import com.breno.graph.algorithms.DynamicTopologicalOrder;
+import com.breno.graph.algorithms.JfrMetricsListener;
 import com.breno.graph.algorithms.TopologicalSort;
-import com.breno.graph.io.GraphLoader;
-import com.breno.graph.io.GraphSaver;
+import com.breno.graph.io.ChangeLog;
+import com.breno.graph.metrics.Metrics;
+import com.breno.graph.metrics.RunMetrics;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Scanner;
 
 public class Main {
 
     private static Graph<String> g = new Graph<>(false); // default: undirected
+    /** Arquivo ao qual g está associado; salvar nele grava só as alterações (null = ainda não salvo). */
+    private static ChangeLog changes;
+    /** Ordem topológica mantida a cada aresta enquanto g é dirigido e acíclico (null caso contrário). */
+    private static DynamicTopologicalOrder<String> topo;
+    /** Métricas da última BFS/Dijkstra (null se nenhuma rodou ainda). */
+    private static volatile RunMetrics ultimaExecucao;
 
     private static final Scanner sc = new Scanner(System.in);
 
     public static void main(String[] args) {
+        if (args.length > 0 && (args[0].equals("--batch") || args[0].equals("--server"))) {
+            BatchMode.start(args);
+            return;
+        }
         sc.useLocale(Locale.ROOT);
+        Metrics.addListener(m -> ultimaExecucao = m);
+        Metrics.addListener(new JfrMetricsListener());
 
         if (args.length == 0) {
             System.out.println("== Modo interativo (sem arquivo inicial) ==");
             boolean directed = askYesNo("Deseja grafo dirigido? (s/n): ");
             g = new Graph<>(directed);
+            trackOrder();
         } else {
             Path input = Path.of(args[0]);
             try {
-                g = GraphLoader.loadFromFile(input);
+                changes = ChangeLog.open(input);
+                g = changes.graph();
                 System.out.println("Grafo carregado de " + input.toString());
             } catch (IOException e) {
                 System.err.println("Falha ao ler arquivo: " + e.getMessage());
                 System.out.println("Prosseguindo com grafo vazio (não dirigido por padrão).");
                 g = new Graph<>(false);
             }
+            trackOrder();
         }
 
         loop();
@@ -54,6 +73,9 @@ public class Main {
             System.out.println("7) Salvar grafo em arquivo");
             System.out.println("8) Carregar grafo de arquivo");
             System.out.println("9) Novo grafo (limpar; escolher dirigido/não)");
+            System.out.println("10) Remover vértice");
+            System.out.println("11) Remover aresta");
+            System.out.println("12) Estatísticas da última execução");
             System.out.println("0) Sair");
             System.out.print("Escolha: ");
             String op = sc.nextLine().trim();
@@ -68,6 +90,9 @@ public class Main {
                     case "7" -> saveGraph();
                     case "8" -> loadGraph();
                     case "9" -> newGraph();
+                    case "10" -> removeVertex();
+                    case "11" -> removeEdge();
+                    case "12" -> showStats();
                     case "0" -> { System.out.println("Encerrando."); return; }
                     default -> System.out.println("Opção inválida.");
                 }
@@ -86,7 +111,7 @@ public class Main {
     private static void addVertex() {
         System.out.print("Digite o valor do vértice (string): ");
         String v = sc.nextLine().trim();
-        boolean added = g.addVertex(v);
+        boolean added = changes != null ? changes.addVertex(v) : g.addVertex(v);
         if (added) System.out.println("Vértice adicionado: " + v);
         else System.out.println("Já existia: " + v);
     }
@@ -97,10 +122,39 @@ public class Main {
         System.out.print("Destino: ");
         String to = sc.nextLine().trim();
         float w = askFloat("Peso (float): ");
-        g.addEdge(from, to, w);
+        if (topo != null) {
+            List<String> ciclo = topo.cycleIfAdded(from, to);
+            if (!ciclo.isEmpty()) {
+                System.out.println("Atenção: essa aresta fecha o ciclo " + String.join(" -> ", ciclo) + " -> " + ciclo.get(0));
+                if (!askYesNo("Adicionar mesmo assim? (s/n): ")) {
+                    System.out.println("Aresta não adicionada.");
+                    return;
+                }
+                topo.close();
+                topo = null;
+            }
+        }
+        if (changes != null) changes.addEdge(from, to, w);
+        else g.addEdge(from, to, w);
         System.out.println("Aresta adicionada" + (g.isDirected() ? "" : " (dupla, pois não dirigido)") + ".");
     }
 
+    private static void removeVertex() {
+        System.out.print("Vértice a remover: ");
+        String v = sc.nextLine().trim();
+        boolean removed = changes != null ? changes.removeVertex(v) : g.removeVertex(v);
+        System.out.println(removed ? "Vértice removido (com suas arestas): " + v : "Vértice inexistente: " + v);
+    }
+
+    private static void removeEdge() {
+        System.out.print("Origem: ");
+        String from = sc.nextLine().trim();
+        System.out.print("Destino: ");
+        String to = sc.nextLine().trim();
+        boolean removed = changes != null ? changes.removeEdge(from, to) : g.removeEdge(from, to);
+        System.out.println(removed ? "Aresta(s) removida(s)." : "Aresta inexistente.");
+    }
+
     private static void runBfs() {
         System.out.print("Vértice inicial: ");
         String s = sc.nextLine().trim();
@@ -115,22 +169,47 @@ public class Main {
     private static void runDijkstra() {
         System.out.print("Origem: ");
         String src = sc.nextLine().trim();
-        Dijkstra.Result<String> res = Dijkstra.shortestPaths(g, src);
         System.out.print("Destino: ");
         String dst = sc.nextLine().trim();
-        List<String> path = res.pathTo(dst);
-        if (path.isEmpty() || !res.dist.containsKey(dst) || Float.isInfinite(res.dist.getOrDefault(dst, Float.POSITIVE_INFINITY))) {
+        Dijkstra.Path<String> res = Dijkstra.bidirectional(g, src, dst);
+        if (!res.found()) {
             System.out.println("Sem caminho ou origem/destino inexistente.");
         } else {
-            System.out.printf(Locale.ROOT, "Distância total: %.3f%n", res.dist.get(dst));
-            System.out.println("Caminho: " + String.join(" -> ", path));
+            System.out.printf(Locale.ROOT, "Distância total: %.3f%n", res.distance);
+            System.out.println("Caminho: " + String.join(" -> ", res.vertices));
+        }
+    }
+
+    private static void showStats() {
+        RunMetrics m = ultimaExecucao;
+        if (m == null) {
+            System.out.println("Nenhuma BFS ou Dijkstra executada ainda.");
+            return;
+        }
+        System.out.println("Algoritmo: " + m.algorithm + " (origem " + m.source + ")");
+        System.out.printf(Locale.ROOT, "Tempo: %.3f ms%n", m.wallNanos / 1e6);
+        System.out.println("Memória alocada: " + (m.allocatedBytes < 0 ? "indisponível" : m.allocatedBytes + " bytes"));
+        System.out.println("Vértices finalizados: " + m.verticesSettled);
+        System.out.println("Arestas relaxadas: " + m.edgesRelaxed);
+        if (m.frontierSizes.length > 0) {
+            System.out.println("Fronteira por nível: " + Arrays.toString(m.frontierSizes));
+        } else {
+            System.out.println("Inserções no heap: " + m.heapPushes + ", decrease-keys: " + m.decreaseKeys
+                    + ", remoções obsoletas: " + m.stalePops);
         }
     }
 
     private static void runTopo() {
         try {
-            List<String> order = TopologicalSort.sort(g);
+            if (topo == null) trackOrder();
+            List<String> order = topo != null ? topo.order() : TopologicalSort.sort(g);
             System.out.println("Topológica: " + String.join(" -> ", order));
+            List<List<String>> ondas = TopologicalSort.levels(g);
+            for (int i = 0; i < ondas.size(); i++) {
+                System.out.println("Onda " + i + " (paralelizável): " + String.join(", ", ondas.get(i)));
+            }
+            CriticalPath.Result<String> cp = CriticalPath.longestPath(g);
+            System.out.println("Caminho crítico: " + String.join(" -> ", cp.path) + " (peso " + (float) cp.length + ")");
         } catch (IllegalArgumentException | IllegalStateException ex) {
             System.out.println("Erro: " + ex.getMessage());
         }
@@ -139,9 +218,16 @@ public class Main {
     private static void saveGraph() {
         System.out.print("Caminho do arquivo para salvar: ");
         String p = sc.nextLine().trim();
+        Path path = Path.of(p);
         try {
-            GraphSaver.saveToFile(g, Path.of(p));
-            System.out.println("Salvo em: " + p);
+            if (changes != null && samePath(changes.base(), path)) {
+                int n = changes.pending();
+                changes.flush();
+                System.out.println(n + " alteração(ões) gravada(s) em: " + p);
+            } else {
+                changes = ChangeLog.create(path, g);
+                System.out.println("Salvo em: " + p);
+            }
         } catch (IOException e) {
             System.out.println("Falha ao salvar: " + e.getMessage());
         }
@@ -151,7 +237,9 @@ public class Main {
         System.out.print("Caminho do arquivo para carregar: ");
         String p = sc.nextLine().trim();
         try {
-            g = GraphLoader.loadFromFile(Path.of(p));
+            changes = ChangeLog.open(Path.of(p));
+            g = changes.graph();
+            trackOrder();
             System.out.println("Grafo carregado.");
         } catch (IOException e) {
             System.out.println("Falha ao carregar: " + e.getMessage());
@@ -161,9 +249,27 @@ public class Main {
     private static void newGraph() {
         boolean directed = askYesNo("Novo grafo dirigido? (s/n): ");
         g = new Graph<>(directed);
+        changes = null;
+        trackOrder();
         System.out.println("Novo grafo criado: " + (directed ? "dirigido" : "não dirigido"));
     }
 
+    /** Passa a manter a ordem topológica de g, se for um DAG dirigido. */
+    private static void trackOrder() {
+        if (topo != null) topo.close();
+        topo = null;
+        if (!g.isDirected()) return;
+        try {
+            topo = new DynamicTopologicalOrder<>(g);
+        } catch (IllegalStateException ciclico) {
+            // grafo com ciclo: não há ordem a manter
+        }
+    }
+
+    private static boolean samePath(Path a, Path b) {
+        return a.toAbsolutePath().normalize().equals(b.toAbsolutePath().normalize());
+    }
+
     private static boolean askYesNo(String prompt) {
         while (true) {
             System.out.print(prompt);
@@ -0,0 +1,170 @@
+package com.breno.app;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.CycleDetector;
+import com.breno.graph.algorithms.Dijkstra;
+import com.breno.graph.algorithms.TopologicalSort;
+
+import java.util.*;
+
+/**
+ * Answers one query line against a graph that no longer changes; safe to call from many
+ * threads. Commands (case-insensitive, whitespace-separated):
+ *   BFS v        breadth-first order from v
+ *   SP a b       shortest path from a to b
+ *   TOPO         topological order (directed, acyclic)
+ *   CYCLE        some cycle, or none
+ * Each answer is one line: TSV "id, OK|ERR, command, fields..." or a JSON object.
+ * TOPO and CYCLE do not depend on their arguments, so they are computed once.
+ */
+final class QueryEngine {
+
+    enum Format { TSV, JSON }
+
+    private final Graph<String> g;
+    private final CsrGraph<String> csr;
+    private final Format format;
+    private volatile List<String> topo;
+    private volatile String topoError;
+    private volatile List<String> cycle;
+
+    QueryEngine(Graph<String> g, Format format) {
+        this.g = g;
+        this.csr = g.freeze();
+        this.format = format;
+    }
+
+    /** The answer line for command line number id, without a line terminator. */
+    String execute(long id, String line) {
+        String[] t = line.trim().split("\\s+");
+        String cmd = t[0].toUpperCase(Locale.ROOT);
+        try {
+            return switch (cmd) {
+                case "BFS" -> {
+                    args(t, 1);
+                    if (csr.idOf(t[1]) < 0) throw new NoSuchElementException("vértice inexistente: " + t[1]);
+                    List<String> order = g.bfs(t[1]);
+                    yield ok(id, cmd, "order", order, null);
+                }
+                case "SP" -> {
+                    args(t, 2);
+                    for (int i = 1; i <= 2; i++) {
+                        if (csr.idOf(t[i]) < 0) throw new NoSuchElementException("vértice inexistente: " + t[i]);
+                    }
+                    Dijkstra.Path<String> p = Dijkstra.bidirectional(g, t[1], t[2]);
+                    yield ok(id, cmd, "path", p.vertices, p.found() ? p.distance : Float.POSITIVE_INFINITY);
+                }
+                case "TOPO" -> {
+                    args(t, 0);
+                    yield ok(id, cmd, "order", topo(), null);
+                }
+                case "CYCLE" -> {
+                    args(t, 0);
+                    yield ok(id, cmd, "cycle", cycle(), null);
+                }
+                default -> throw new IllegalArgumentException("comando desconhecido");
+            };
+        } catch (RuntimeException ex) {
+            return error(id, cmd, ex.getMessage() != null ? ex.getMessage() : ex.toString());
+        }
+    }
+
+    private static void args(String[] t, int expected) {
+        if (t.length - 1 != expected) {
+            throw new IllegalArgumentException("esperado(s) " + expected + " argumento(s), recebido(s) " + (t.length - 1));
+        }
+    }
+
+    private List<String> topo() {
+        if (topo == null && topoError == null) {
+            synchronized (this) {
+                if (topo == null && topoError == null) {
+                    try {
+                        topo = TopologicalSort.sort(csr);
+                    } catch (IllegalArgumentException | IllegalStateException ex) {
+                        topoError = ex.getMessage();
+                    }
+                }
+            }
+        }
+        if (topoError != null) throw new IllegalStateException(topoError);
+        return topo;
+    }
+
+    private List<String> cycle() {
+        if (cycle == null) {
+            synchronized (this) {
+                if (cycle == null) {
+                    cycle = csr.isDirected() ? CycleDetector.findCycleDirected(csr) : CycleDetector.findCycleUndirected(csr);
+                }
+            }
+        }
+        return cycle;
+    }
+
+    /** TSV: id OK cmd [distance] count vertices; JSON: {"id", "ok", "cmd", ["distance"], key: [...]}. */
+    private String ok(long id, String cmd, String key, List<String> vertices, Float distance) {
+        StringBuilder sb = new StringBuilder(32 + vertices.size() * 8);
+        if (format == Format.TSV) {
+            sb.append(id).append("\tOK\t").append(cmd);
+            if (distance != null) sb.append('\t').append(number(distance));
+            sb.append('\t').append(vertices.size()).append('\t');
+            for (int i = 0; i < vertices.size(); i++) {
+                if (i > 0) sb.append(' ');
+                sb.append(vertices.get(i));
+            }
+        } else {
+            sb.append("{\"id\":").append(id).append(",\"ok\":true,\"cmd\":\"").append(cmd).append('"');
+            if (distance != null) {
+                sb.append(",\"distance\":");
+                if (distance.isInfinite()) sb.append("null");
+                else sb.append(distance);
+            }
+            sb.append(",\"").append(key).append("\":[");
+            for (int i = 0; i < vertices.size(); i++) {
+                if (i > 0) sb.append(',');
+                quote(sb, vertices.get(i));
+            }
+            sb.append("]}");
+        }
+        return sb.toString();
+    }
+
+    private String error(long id, String cmd, String message) {
+        StringBuilder sb = new StringBuilder();
+        if (format == Format.TSV) {
+            sb.append(id).append("\tERR\t").append(cmd).append('\t').append(message.replace('\t', ' '));
+        } else {
+            sb.append("{\"id\":").append(id).append(",\"ok\":false,\"cmd\":");
+            quote(sb, cmd);
+            sb.append(",\"error\":");
+            quote(sb, message);
+            sb.append('}');
+        }
+        return sb.toString();
+    }
+
+    private static String number(float d) {
+        return Float.isInfinite(d) ? "inf" : Float.toString(d);
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,289 @@
+package com.breno.graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe graph for concurrent writers and readers (directed or undirected).
+ *
+ * Every vertex owns an immutable adjacency (targets, weights, size) behind one volatile
+ * reference. Readers load that reference once and walk it without locks, so a traversal
+ * never blocks and never sees a half-written arc. Writers lock the stripe of each vertex
+ * they touch (stripes are chosen by value hash and always taken in index order) and then
+ * publish a new adjacency object. Appends reuse the arrays when they have spare room: the
+ * new arc goes into a slot no published adjacency covers yet, so older readers are unaffected.
+ *
+ * snapshot() takes every stripe for an instant, which yields a consistent cut of all
+ * adjacencies, and builds an immutable CSR from it outside the locks; long algorithm runs
+ * should work on that snapshot. Vertices cannot be removed, so ids stay dense.
+ */
+public final class ConcurrentGraph<T> {
+
+    /** Receives the arcs of one vertex in insertion order. */
+    public interface ArcVisitor<T> {
+        void visit(T to, float weight);
+    }
+
+    /** Consistent view of the graph; epoch counts the mutations it includes. */
+    public record Snapshot<T>(long epoch, CsrGraph<T> graph) {}
+
+    private static final int STRIPES = 64;
+    /** One counter per 64-byte line so stripes don't share cache lines. */
+    private static final int PAD = 8;
+
+    private final boolean directed;
+    private final ConcurrentHashMap<T, Node<T>> byValue = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final long[] mods = new long[STRIPES * PAD];     // guarded by the stripe's lock
+    private final Object registry = new Object();
+    private volatile Node<?>[] nodes = new Node<?>[16];
+    private volatile int count;
+    private volatile Snapshot<T> lastSnapshot;
+
+    public ConcurrentGraph(boolean directed) {
+        this.directed = directed;
+        for (int i = 0; i < STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int vertexCount() {
+        return count;
+    }
+
+    public boolean containsVertex(T value) {
+        return byValue.containsKey(value);
+    }
+
+    /** Adds a vertex if absent. Returns true if it was added. */
+    public boolean addVertex(T value) {
+        int s = stripe(value);
+        locks[s].lock();
+        try {
+            if (byValue.containsKey(value)) return false;
+            register(value);
+            mods[s * PAD]++;
+            return true;
+        } finally {
+            locks[s].unlock();
+        }
+    }
+
+    /** Adds an edge; creates missing vertices automatically. */
+    public void addEdge(T from, T to, float weight) {
+        int sf = stripe(from), st = stripe(to);
+        lockPair(sf, st);
+        try {
+            Node<T> vf = require(from);
+            Node<T> vt = require(to);
+            vf.append(vt.id, weight);
+            if (!directed) vt.append(vf.id, weight);
+            mods[sf * PAD]++;
+        } finally {
+            unlockPair(sf, st);
+        }
+    }
+
+    /** Removes every edge from -> to (either way round when undirected). Returns true if any existed. */
+    public boolean removeEdge(T from, T to) {
+        int sf = stripe(from), st = stripe(to);
+        lockPair(sf, st);
+        try {
+            Node<T> vf = byValue.get(from);
+            Node<T> vt = byValue.get(to);
+            if (vf == null || vt == null) return false;
+            boolean removed = vf.removeArcsTo(vt.id);
+            if (!directed) vt.removeArcsTo(vf.id);
+            if (removed) mods[sf * PAD]++;
+            return removed;
+        } finally {
+            unlockPair(sf, st);
+        }
+    }
+
+    public int outDegree(T value) {
+        Node<T> v = byValue.get(value);
+        return v == null ? 0 : v.adj.size;
+    }
+
+    /** Visits the arcs of from as of one instant, without locking. */
+    public void forEachArc(T from, ArcVisitor<T> visitor) {
+        Node<T> v = byValue.get(from);
+        if (v == null) return;
+        Adjacency a = v.adj;
+        Node<?>[] all = nodes;
+        for (int i = 0; i < a.size; i++) visitor.visit(valueOf(all, a.targets[i]), a.weights[i]);
+    }
+
+    /**
+     * Breadth-first order from start, read without locks. Each vertex's arcs are read once,
+     * but concurrent writes to different vertices may or may not be seen; vertices added
+     * after the traversal starts are ignored. Use snapshot() for a consistent result.
+     */
+    public List<T> bfs(T start) {
+        Node<T> s = byValue.get(start);
+        if (s == null) return List.of();
+        int n = count;              // before nodes: register() publishes the array first
+        Node<?>[] all = nodes;
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        visited[s.id] = true;
+        queue[tail++] = s.id;
+        List<T> order = new ArrayList<>();
+        while (head < tail) {
+            int u = queue[head++];
+            order.add(valueOf(all, u));
+            Adjacency a = all[u].adj;
+            for (int i = 0; i < a.size; i++) {
+                int v = a.targets[i];
+                if (v < n && !visited[v]) {
+                    visited[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Consistent immutable view. Writers are held off only while the adjacency references
+     * are collected (O(V)); the CSR is built afterwards. Returns the previous snapshot
+     * if nothing changed since.
+     */
+    public Snapshot<T> snapshot() {
+        Adjacency[] cut;
+        Node<?>[] all;
+        int n;
+        long epoch = 0;
+        for (ReentrantLock l : locks) l.lock();
+        try {
+            for (int s = 0; s < STRIPES; s++) epoch += mods[s * PAD];
+            Snapshot<T> last = lastSnapshot;
+            if (last != null && last.epoch() == epoch) return last;
+            all = nodes;
+            n = count;
+            cut = new Adjacency[n];
+            for (int v = 0; v < n; v++) cut[v] = all[v].adj;
+        } finally {
+            for (int i = STRIPES - 1; i >= 0; i--) locks[i].unlock();
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) offsets[v + 1] = offsets[v] + cut[v].size;
+        int[] targets = new int[offsets[n]];
+        float[] weights = new float[offsets[n]];
+        List<T> values = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(cut[v].targets, 0, targets, offsets[v], cut[v].size);
+            System.arraycopy(cut[v].weights, 0, weights, offsets[v], cut[v].size);
+            values.add(valueOf(all, v));
+        }
+        Snapshot<T> snap = new Snapshot<>(epoch, CsrGraph.of(directed, values, offsets, targets, weights));
+        synchronized (registry) {
+            Snapshot<T> last = lastSnapshot;
+            if (last == null || last.epoch() < epoch) lastSnapshot = snap;
+        }
+        return snap;
+    }
+
+    private Node<T> require(T value) {
+        Node<T> v = byValue.get(value);
+        return v != null ? v : register(value);
+    }
+
+    /** Caller holds the value's stripe lock. */
+    private Node<T> register(T value) {
+        Node<T> v;
+        synchronized (registry) {
+            Node<?>[] all = nodes;
+            if (count == all.length) all = nodes = Arrays.copyOf(all, all.length * 2);
+            v = new Node<>(value, count);
+            all[count] = v;
+            count = count + 1;
+        }
+        byValue.put(value, v);
+        return v;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T valueOf(Node<?>[] all, int id) {
+        return (T) all[id].value;
+    }
+
+    private static int stripe(Object value) {
+        int h = value.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private void lockPair(int a, int b) {
+        locks[Math.min(a, b)].lock();
+        if (a != b) locks[Math.max(a, b)].lock();
+    }
+
+    private void unlockPair(int a, int b) {
+        if (a != b) locks[Math.max(a, b)].unlock();
+        locks[Math.min(a, b)].unlock();
+    }
+
+    /** Published arcs are targets/weights[0, size); slots past size may be filled by a later append. */
+    private static final class Adjacency {
+        static final Adjacency EMPTY = new Adjacency(new int[0], new float[0], 0);
+
+        final int[] targets;
+        final float[] weights;
+        final int size;
+
+        Adjacency(int[] targets, float[] weights, int size) {
+            this.targets = targets;
+            this.weights = weights;
+            this.size = size;
+        }
+    }
+
+    private static final class Node<T> {
+        final T value;
+        final int id;
+        volatile Adjacency adj = Adjacency.EMPTY;
+
+        Node(T value, int id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        /** Caller holds this node's stripe lock. */
+        void append(int target, float weight) {
+            Adjacency a = adj;
+            int[] t = a.targets;
+            float[] w = a.weights;
+            if (a.size == t.length) {
+                int cap = Math.max(4, a.size * 2);
+                t = Arrays.copyOf(t, cap);
+                w = Arrays.copyOf(w, cap);
+            }
+            t[a.size] = target;
+            w[a.size] = weight;
+            adj = new Adjacency(t, w, a.size + 1);
+        }
+
+        /** Caller holds this node's stripe lock. Always copies, so published arrays are never shrunk in place. */
+        boolean removeArcsTo(int target) {
+            Adjacency a = adj;
+            int[] t = new int[a.targets.length];
+            float[] w = new float[a.targets.length];
+            int k = 0;
+            for (int i = 0; i < a.size; i++) {
+                if (a.targets[i] == target) continue;
+                t[k] = a.targets[i];
+                w[k] = a.weights[i];
+                k++;
+            }
+            if (k == a.size) return false;
+            adj = new Adjacency(t, w, k);
+            return true;
+        }
+    }
+}
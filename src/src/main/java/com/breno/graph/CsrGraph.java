@@ -0,0 +1,154 @@
+package com.breno.graph;
+
+import java.util.*;
+
+/**
+ * Immutable compressed sparse row (CSR) snapshot of a Graph.
+ * Vertices get dense ids 0..n-1; the arcs leaving vertex v are the slots
+ * offsets[v] .. offsets[v+1]-1 of the parallel targets/weights arrays.
+ * Undirected graphs keep both arcs of every edge, exactly like Graph does.
+ */
+public final class CsrGraph<T> implements IndexedGraph<T> {
+    private final boolean directed;
+    private final Object[] values;
+    private final Map<T, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final float[] weights;
+    private CsrGraph<T> transpose;
+
+    private CsrGraph(boolean directed, Object[] values, Map<T, Integer> ids,
+                     int[] offsets, int[] targets, float[] weights) {
+        this.directed = directed;
+        this.values = values;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /** Builds a snapshot of the current state of g; later changes to g are not reflected. */
+    public static <T> CsrGraph<T> of(Graph<T> g) {
+        int n = g.vertices().size();
+        Object[] values = new Object[n];
+        List<Vertex<T>> byId = new ArrayList<>(n);
+        Map<T, Integer> ids = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (Vertex<T> v : g.vertices()) {
+            values[byId.size()] = v.getValue();
+            ids.put(v.getValue(), byId.size());
+            byId.add(v);
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + g.outgoing(byId.get(i)).size();
+        }
+        int[] targets = new int[offsets[n]];
+        float[] weights = new float[offsets[n]];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (Edge<T> e : g.outgoing(byId.get(i))) {
+                targets[k] = ids.get(e.getTo().getValue());
+                weights[k] = e.getWeight();
+                k++;
+            }
+        }
+        return new CsrGraph<>(g.isDirected(), values, ids, offsets, targets, weights);
+    }
+
+    /**
+     * Wraps prebuilt CSR arrays without copying them: vertex i has value values.get(i) and
+     * arcs offsets[i] .. offsets[i+1]-1. Undirected graphs must already hold both arcs of every edge.
+     */
+    public static <T> CsrGraph<T> of(boolean directed, List<T> values, int[] offsets, int[] targets, float[] weights) {
+        int n = values.size();
+        if (offsets.length != n + 1 || offsets[n] != targets.length || targets.length != weights.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays");
+        }
+        Map<T, Integer> ids = new HashMap<>(Math.max(16, (int) (n / 0.75f) + 1));
+        for (int i = 0; i < n; i++) {
+            if (ids.put(values.get(i), i) != null) throw new IllegalArgumentException("Duplicate vertex: " + values.get(i));
+        }
+        return new CsrGraph<>(directed, values.toArray(), ids, offsets, targets, weights);
+    }
+
+    /**
+     * Snapshot with every arc reversed, sharing this snapshot's vertex ids.
+     * Built on first use and cached; undirected snapshots are their own transpose.
+     */
+    public CsrGraph<T> transpose() {
+        if (!directed) return this;
+        if (transpose == null) {
+            int n = values.length;
+            int[] tOffsets = new int[n + 1];
+            for (int t : targets) tOffsets[t + 1]++;
+            for (int i = 0; i < n; i++) tOffsets[i + 1] += tOffsets[i];
+            int[] fill = Arrays.copyOf(tOffsets, n);
+            int[] tTargets = new int[targets.length];
+            float[] tWeights = new float[targets.length];
+            for (int v = 0; v < n; v++) {
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int slot = fill[targets[a]]++;
+                    tTargets[slot] = v;
+                    tWeights[slot] = weights[a];
+                }
+            }
+            CsrGraph<T> t = new CsrGraph<>(true, values, ids, tOffsets, tTargets, tWeights);
+            t.transpose = this;
+            transpose = t;
+        }
+        return transpose;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int vertexCount() {
+        return values.length;
+    }
+
+    @Override
+    public int arcCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int idOf(T value) {
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T valueOf(int id) {
+        return (T) values[id];
+    }
+
+    @Override
+    public int arcStart(int v) {
+        return offsets[v];
+    }
+
+    @Override
+    public int arcEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    @Override
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    @Override
+    public int arcTarget(int arc) {
+        return targets[arc];
+    }
+
+    @Override
+    public float arcWeight(int arc) {
+        return weights[arc];
+    }
+}
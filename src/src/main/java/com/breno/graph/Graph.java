@@ -1,6 +1,9 @@
 package com.breno.graph;
 
+import com.breno.graph.metrics.Metrics;
+
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 
 /**
@@ -11,6 +14,10 @@ public class Graph<T> {
     private final boolean directed;
     private final Map<T, Vertex<T>> vertexByValue = new HashMap<>();
     private final Map<Vertex<T>, List<Edge<T>>> adj = new HashMap<>();
+    /** Reverse index (arcs by head) for directed graphs; undirected graphs reuse adj. */
+    private final Map<Vertex<T>, List<Edge<T>>> radj = new HashMap<>();
+    private final List<GraphListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private long version;
 
     public Graph(boolean directed) {
         this.directed = directed;
@@ -20,12 +27,28 @@ public class Graph<T> {
         return directed;
     }
 
+    /** Modification counter: changes on every successful add/remove, so cached results can tell they are stale. */
+    public long version() {
+        return version;
+    }
+
+    public void addListener(GraphListener<T> l) {
+        listeners.add(l);
+    }
+
+    public void removeListener(GraphListener<T> l) {
+        listeners.remove(l);
+    }
+
     /** Adds a vertex if absent. Returns true if it was added. */
     public boolean addVertex(T value) {
         if (vertexByValue.containsKey(value)) return false;
         Vertex<T> v = new Vertex<>(value);
         vertexByValue.put(value, v);
         adj.put(v, new ArrayList<>());
+        if (directed) radj.put(v, new ArrayList<>());
+        version++;
+        for (GraphListener<T> l : listeners) l.vertexAdded(value);
         return true;
     }
 
@@ -45,10 +68,51 @@ public class Graph<T> {
         Vertex<T> vt = requireVertex(to);
         addArc(vf, vt, weight);
         if (!directed) addArc(vt, vf, weight);
+        version++;
+        for (GraphListener<T> l : listeners) l.edgeAdded(from, to, weight);
     }
 
     private void addArc(Vertex<T> from, Vertex<T> to, float w) {
-        adj.get(from).add(new Edge<>(from, to, w));
+        Edge<T> e = new Edge<>(from, to, w);
+        adj.get(from).add(e);
+        if (directed) radj.get(to).add(e);
+    }
+
+    /** Removes the vertex and every edge touching it. Returns true if it existed. */
+    public boolean removeVertex(T value) {
+        Vertex<T> v = vertexByValue.remove(value);
+        if (v == null) return false;
+        List<Edge<T>> out = adj.remove(v);
+        if (directed) {
+            for (Edge<T> e : out) radj.get(e.getTo()).removeIf(x -> x == e);
+            for (Edge<T> e : radj.remove(v)) {
+                List<Edge<T>> fromList = adj.get(e.getFrom());
+                if (fromList != null) fromList.removeIf(x -> x == e);
+            }
+        } else {
+            for (Edge<T> e : out) {
+                List<Edge<T>> twins = adj.get(e.getTo());
+                if (twins != null) twins.removeIf(x -> x.getTo() == v);
+            }
+        }
+        version++;
+        for (GraphListener<T> l : listeners) l.vertexRemoved(value);
+        return true;
+    }
+
+    /** Removes every edge from -> to (either way round when undirected). Returns true if any existed. */
+    public boolean removeEdge(T from, T to) {
+        Vertex<T> vf = vertexByValue.get(from);
+        Vertex<T> vt = vertexByValue.get(to);
+        if (vf == null || vt == null) return false;
+        boolean removed = adj.get(vf).removeIf(e -> e.getTo() == vt);
+        if (directed) radj.get(vt).removeIf(e -> e.getFrom() == vf);
+        else adj.get(vt).removeIf(e -> e.getTo() == vf);
+        if (removed) {
+            version++;
+            for (GraphListener<T> l : listeners) l.edgeRemoved(from, to);
+        }
+        return removed;
     }
 
     public Set<Vertex<T>> vertices() {
@@ -59,31 +123,62 @@ public class Graph<T> {
         return Collections.unmodifiableList(adj.getOrDefault(v, List.of()));
     }
 
+    /**
+     * Arcs whose head is v. Undirected graphs store every edge as two twin arcs,
+     * so there this returns outgoing(v) and the neighbour is each arc's getTo().
+     */
+    public List<Edge<T>> incoming(Vertex<T> v) {
+        if (!directed) return outgoing(v);
+        return Collections.unmodifiableList(radj.getOrDefault(v, List.of()));
+    }
+
     public Optional<Vertex<T>> findVertex(T value) {
         return Optional.ofNullable(vertexByValue.get(value));
     }
 
+    /** Immutable int-indexed CSR snapshot for read-heavy algorithms. */
+    public CsrGraph<T> freeze() {
+        return CsrGraph.of(this);
+    }
+
+    /** Breadth-first order from startValue; reports to com.breno.graph.metrics.Metrics when enabled. */
     public List<T> bfs(T startValue) {
         Vertex<T> start = vertexByValue.get(startValue);
         if (start == null) return List.of();
 
+        Metrics.Probe probe = Metrics.start("bfs", startValue);
         List<T> order = new ArrayList<>();
         Set<Vertex<T>> visited = new HashSet<>();
         Deque<Vertex<T>> q = new ArrayDeque<>();
         visited.add(start);
         q.add(start);
+        long scanned = 0;
+        int[] levels = new int[probe != null ? 16 : 0];
+        int depth = 0;
+        int levelStart = 0, levelEnd = 1;   // positions in order of the current level
 
         while (!q.isEmpty()) {
             Vertex<T> v = q.removeFirst();
             order.add(v.getValue());
-            for (Edge<T> e : adj.getOrDefault(v, List.of())) {
+            List<Edge<T>> arcs = adj.getOrDefault(v, List.of());
+            scanned += arcs.size();
+            for (Edge<T> e : arcs) {
                 Vertex<T> u = e.getTo();
                 if (!visited.contains(u)) {
                     visited.add(u);
                     q.addLast(u);
                 }
             }
+            if (order.size() == levelEnd) {
+                if (probe != null) {
+                    if (depth == levels.length) levels = Arrays.copyOf(levels, depth * 2);
+                    levels[depth++] = levelEnd - levelStart;
+                }
+                levelStart = levelEnd;
+                levelEnd += q.size();
+            }
         }
+        if (probe != null) probe.finish(order.size(), scanned, 0, 0, 0, Arrays.copyOf(levels, depth));
         return order;
     }
 
@@ -0,0 +1,17 @@
+package com.breno.graph;
+
+/**
+ * Observer of changes to a Graph. Callbacks run on the mutating thread right after the
+ * change took effect; vertices created implicitly by addEdge are reported before the edge.
+ */
+public interface GraphListener<T> {
+    default void vertexAdded(T value) {}
+
+    /** One call per addEdge, also for undirected graphs (which store two arcs). */
+    default void edgeAdded(T from, T to, float weight) {}
+
+    default void vertexRemoved(T value) {}
+
+    /** Every edge from -> to was removed (either way round when undirected). */
+    default void edgeRemoved(T from, T to) {}
+}
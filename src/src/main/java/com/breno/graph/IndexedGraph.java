@@ -0,0 +1,64 @@
+package com.breno.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only graph with dense vertex ids 0..n-1 and arcs grouped by tail, CSR style:
+ * the arcs leaving v are arcStart(v) .. arcEnd(v)-1.
+ * Implemented by the on-heap CsrGraph and by file-backed graphs.
+ */
+public interface IndexedGraph<T> {
+    boolean isDirected();
+
+    int vertexCount();
+
+    /** Number of stored arcs (twice the edge count for undirected graphs). */
+    int arcCount();
+
+    /** Dense id of value, or -1 if it is not a vertex. */
+    int idOf(T value);
+
+    T valueOf(int id);
+
+    /** Index of the first arc leaving v. */
+    int arcStart(int v);
+
+    /** One past the index of the last arc leaving v. */
+    int arcEnd(int v);
+
+    int arcTarget(int arc);
+
+    float arcWeight(int arc);
+
+    default int outDegree(int v) {
+        return arcEnd(v) - arcStart(v);
+    }
+
+    /** Same contract as Graph.bfs: level order from start, empty if start is absent. */
+    default List<T> bfs(T startValue) {
+        int start = idOf(startValue);
+        if (start < 0) return List.of();
+
+        int n = vertexCount();
+        List<T> order = new ArrayList<>();
+        boolean[] visited = new boolean[n];
+        int[] q = new int[n];
+        int head = 0, tail = 0;
+        visited[start] = true;
+        q[tail++] = start;
+
+        while (head < tail) {
+            int v = q[head++];
+            order.add(valueOf(v));
+            for (int a = arcStart(v), end = arcEnd(v); a < end; a++) {
+                int u = arcTarget(a);
+                if (!visited[u]) {
+                    visited[u] = true;
+                    q[tail++] = u;
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,311 @@
+package com.breno.graph;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+/**
+ * Graph whose vertices are plain ints (directed or undirected), stored without boxing:
+ * an IntIndexMap gives every key a dense index, and the arcs of all vertices share one
+ * int[] targets / float[] weights arena. Vertex v owns the slots start[v] ..
+ * start[v]+capacity[v]-1, of which the first degree[v] are used. A full block grows in
+ * place when it is the last one in the arena and otherwise moves to the end at twice its
+ * size; the arena is repacked once abandoned blocks outnumber live arcs. Memory is a few
+ * ints per vertex and 8 bytes per arc, in a handful of arrays, however large the graph.
+ *
+ * Vertices and edges can only be added. Like Graph, undirected edges are stored as two
+ * arcs. Algorithms run on freeze(), an IndexedGraph view that shares the arena, and take
+ * and return vertex keys as int / int[] (see the IntGraph overloads in algorithms).
+ * Not thread-safe.
+ */
+public final class IntGraph {
+    private final boolean directed;
+    private final IntIndexMap ids;
+    private int[] start;
+    private int[] degree;
+    private int[] capacity;
+    private int[] targets;          // dense ids
+    private float[] weights;
+    private int used;               // arena slots handed out, live or not
+    private int arcCount;
+    private Snapshot frozen;        // dropped on every mutation
+
+    public IntGraph(boolean directed) {
+        this(directed, 16, 16);
+    }
+
+    /** Pre-sizes the tables for about vertices vertices and arcs stored arcs. */
+    public IntGraph(boolean directed, int vertices, int arcs) {
+        this.directed = directed;
+        int n = Math.max(16, vertices);
+        this.ids = new IntIndexMap(n);
+        this.start = new int[n];
+        this.degree = new int[n];
+        this.capacity = new int[n];
+        this.targets = new int[Math.max(16, arcs)];
+        this.weights = new float[targets.length];
+    }
+
+    /** Copy of g with each vertex keyed by key(value); arcs keep their order and weights. */
+    public static <T> IntGraph of(Graph<T> g, ToIntFunction<? super T> key) {
+        int n = g.vertices().size(), m = 0;
+        for (Vertex<T> v : g.vertices()) m += g.outgoing(v).size();
+        IntGraph out = new IntGraph(g.isDirected(), n, m);
+        for (Vertex<T> v : g.vertices()) {
+            if (!out.addVertex(key.applyAsInt(v.getValue()))) {
+                throw new IllegalArgumentException("Duplicate key for vertex " + v);
+            }
+        }
+        int from = 0;                       // same iteration order, so the ids come out 0, 1, ...
+        for (Vertex<T> v : g.vertices()) {
+            List<Edge<T>> arcs = g.outgoing(v);
+            out.start[from] = out.used;
+            out.reserve(arcs.size());
+            out.capacity[from] = arcs.size();
+            for (Edge<T> e : arcs) {
+                out.addArc(from, out.ids.indexOf(key.applyAsInt(e.getTo().getValue())), e.getWeight());
+            }
+            from++;
+        }
+        return out;
+    }
+
+    public static IntGraph of(Graph<Integer> g) {
+        return of(g, Integer::intValue);
+    }
+
+    /** Copy as a Graph<Integer>, for code written against Graph. */
+    public Graph<Integer> toGraph() {
+        Graph<Integer> g = new Graph<>(directed);
+        int n = vertexCount();
+        for (int v = 0; v < n; v++) g.addVertex(ids.keyAt(v));
+        for (int v = 0; v < n; v++) {
+            boolean skipLoop = false;       // undirected self-loops are stored as two arcs
+            for (int a = start[v], end = a + degree[v]; a < end; a++) {
+                int t = targets[a];
+                if (!directed && (t < v || t == v && (skipLoop = !skipLoop))) continue;
+                g.addEdge(ids.keyAt(v), ids.keyAt(t), weights[a]);
+            }
+        }
+        return g;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int vertexCount() {
+        return ids.size();
+    }
+
+    /** Number of stored arcs (twice the edge count for undirected graphs). */
+    public int arcCount() {
+        return arcCount;
+    }
+
+    public boolean containsVertex(int key) {
+        return ids.indexOf(key) >= 0;
+    }
+
+    /** Out-degree of key, or -1 if it is not a vertex. */
+    public int outDegree(int key) {
+        int v = ids.indexOf(key);
+        return v < 0 ? -1 : degree[v];
+    }
+
+    /** Adds a vertex if absent. Returns true if it was added. */
+    public boolean addVertex(int key) {
+        int before = ids.size();
+        return require(key) == before;
+    }
+
+    /** Adds an edge; creates missing vertices automatically. */
+    public void addEdge(int from, int to, float weight) {
+        int vf = require(from);
+        int vt = require(to);
+        addArc(vf, vt, weight);
+        if (!directed) addArc(vt, vf, weight);
+    }
+
+    /** Breadth-first order of the keys reachable from startKey; empty if it is not a vertex. */
+    public int[] bfs(int startKey) {
+        return freeze().bfs(startKey);
+    }
+
+    /**
+     * Read-only CSR view of the current graph, cached until the next mutation. Repacks the
+     * arena first if it has gaps, then shares its arrays: slots below the packed length are
+     * never written again (blocks only grow past it, repacking allocates new arrays), so the
+     * view stays valid and unchanged while this graph keeps growing.
+     */
+    public Snapshot freeze() {
+        if (frozen == null) {
+            if (!isPacked()) pack();
+            int n = vertexCount();
+            int[] offsets = Arrays.copyOf(start, n + 1);
+            offsets[n] = arcCount;
+            frozen = new Snapshot(directed, ids, n, offsets, targets, weights);
+        }
+        return frozen;
+    }
+
+    /** True when the blocks are full and back to back in vertex order, i.e. start is already a CSR offsets array. */
+    private boolean isPacked() {
+        if (used != arcCount) return false;
+        int next = 0;
+        for (int v = 0, n = vertexCount(); v < n; v++) {
+            if (start[v] != next) return false;
+            next += degree[v];
+        }
+        return true;
+    }
+
+    private int require(int key) {
+        int before = ids.size();
+        int v = ids.add(key);
+        if (v == before) {
+            if (v == start.length) {
+                int cap = v + (v >> 1);
+                start = Arrays.copyOf(start, cap);
+                degree = Arrays.copyOf(degree, cap);
+                capacity = Arrays.copyOf(capacity, cap);
+            }
+            start[v] = used;
+            frozen = null;
+        }
+        return v;
+    }
+
+    private void addArc(int from, int to, float w) {
+        if (degree[from] == capacity[from]) grow(from);
+        int slot = start[from] + degree[from]++;
+        targets[slot] = to;
+        weights[slot] = w;
+        arcCount++;
+        frozen = null;
+    }
+
+    private void grow(int v) {
+        int cap = capacity[v];
+        int newCap = cap == 0 ? 2 : cap * 2;
+        if (start[v] + cap == used) {
+            reserve(newCap - cap);
+        } else {
+            if (used - arcCount > arcCount) {
+                pack();
+                if (start[v] + cap == used) {       // v's block is the last one now
+                    reserve(newCap - cap);
+                    capacity[v] = newCap;
+                    return;
+                }
+            }
+            int from = start[v];
+            start[v] = used;
+            reserve(newCap);
+            System.arraycopy(targets, from, targets, start[v], degree[v]);
+            System.arraycopy(weights, from, weights, start[v], degree[v]);
+        }
+        capacity[v] = newCap;
+    }
+
+    /** Hands out the next count arena slots, growing the arrays by at least half. */
+    private void reserve(int count) {
+        long need = (long) used + count;
+        if (need > Integer.MAX_VALUE - 8) throw new IllegalStateException("Too many arcs for an int-indexed arena");
+        if (need > targets.length) {
+            int cap = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(need, targets.length + ((long) targets.length >> 1)));
+            targets = Arrays.copyOf(targets, cap);
+            weights = Arrays.copyOf(weights, cap);
+        }
+        used = (int) need;
+    }
+
+    /** Copies the live arcs into fresh arrays in vertex order, with no spare room: the arena becomes CSR. */
+    private void pack() {
+        int n = vertexCount();
+        int[] t = new int[Math.max(16, arcCount)];
+        float[] w = new float[t.length];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            System.arraycopy(targets, start[v], t, k, degree[v]);
+            System.arraycopy(weights, start[v], w, k, degree[v]);
+            start[v] = k;
+            capacity[v] = degree[v];
+            k += degree[v];
+        }
+        targets = t;
+        weights = w;
+        used = k;
+    }
+
+    /** Immutable CSR view from IntGraph.freeze(). */
+    public static final class Snapshot implements IntIndexedGraph {
+        private final boolean directed;
+        private final IntIndexMap ids;      // shared with the graph, which may have added keys since
+        private final int n;
+        private final int[] offsets;
+        private final int[] targets;
+        private final float[] weights;
+
+        Snapshot(boolean directed, IntIndexMap ids, int n, int[] offsets, int[] targets, float[] weights) {
+            this.directed = directed;
+            this.ids = ids;
+            this.n = n;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        /** Dense id of key, or -1 if it is not a vertex of this snapshot. */
+        @Override
+        public int indexOf(int key) {
+            int v = ids.indexOf(key);
+            return v < n ? v : -1;
+        }
+
+        @Override
+        public int keyAt(int id) {
+            Objects.checkIndex(id, n);
+            return ids.keyAt(id);
+        }
+
+        @Override
+        public boolean isDirected() {
+            return directed;
+        }
+
+        @Override
+        public int vertexCount() {
+            return n;
+        }
+
+        @Override
+        public int arcCount() {
+            return offsets[n];
+        }
+
+        @Override
+        public int arcStart(int v) {
+            return offsets[v];
+        }
+
+        @Override
+        public int arcEnd(int v) {
+            return offsets[v + 1];
+        }
+
+        @Override
+        public int outDegree(int v) {
+            return offsets[v + 1] - offsets[v];
+        }
+
+        @Override
+        public int arcTarget(int arc) {
+            return targets[arc];
+        }
+
+        @Override
+        public float arcWeight(int arc) {
+            return weights[arc];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.breno.graph;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from int keys to dense indexes 0..size-1, in insertion order.
+ * Slot i of the table is the pair (table[2i], table[2i+1]) = (key, index + 1), with
+ * index + 1 == 0 marking a free slot, and collisions probe linearly. Keeping the key in
+ * the slot makes a lookup one cache miss rather than a table read followed by a keys[]
+ * read. keys[] maps indexes back to keys. Entries are never removed, and indexes and
+ * keys[0..size) never change once assigned, which lets an IntGraph.Snapshot keep reading
+ * a map its graph is still adding to.
+ */
+final class IntIndexMap {
+    private int[] table;
+    private int[] keys;
+    private int size;
+
+    IntIndexMap(int expected) {
+        int slots = Integer.highestOneBit(Math.max(16, expected + expected / 3) - 1) << 1;
+        table = new int[2 * slots];
+        keys = new int[Math.max(16, expected)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int keyAt(int index) {
+        return keys[index];
+    }
+
+    /** Index of key, or -1 if absent. */
+    int indexOf(int key) {
+        int mask = (table.length >> 1) - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            int e = table[2 * i + 1];
+            if (e == 0) return -1;
+            if (table[2 * i] == key) return e - 1;
+        }
+    }
+
+    /** Index of key, assigning the next one if it is new; a new key's index is size() - 1 afterwards. */
+    int add(int key) {
+        int mask = (table.length >> 1) - 1;
+        int i = mix(key) & mask;
+        for (int e; (e = table[2 * i + 1]) != 0; i = (i + 1) & mask) {
+            if (table[2 * i] == key) return e - 1;
+        }
+        if (size == keys.length) keys = Arrays.copyOf(keys, size + (size >> 1));
+        keys[size] = key;
+        table[2 * i] = key;
+        table[2 * i + 1] = ++size;
+        if (size > (mask + 1) - ((mask + 1) >> 2)) rehash();     // load factor 0.75
+        return size - 1;
+    }
+
+    private void rehash() {
+        int[] t = new int[table.length * 2];
+        int mask = (t.length >> 1) - 1;
+        for (int index = 0; index < size; index++) {
+            int i = mix(keys[index]) & mask;
+            while (t[2 * i + 1] != 0) i = (i + 1) & mask;
+            t[2 * i] = keys[index];
+            t[2 * i + 1] = index + 1;
+        }
+        table = t;
+    }
+
+    /** Fibonacci hashing; the high bits are folded down because the mask keeps only the low ones. */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,49 @@
+package com.breno.graph;
+
+import java.util.Arrays;
+
+/**
+ * IndexedGraph whose vertices are int keys, with unboxed lookups both ways.
+ * Implemented by IntGraph.Snapshot and by the off-heap io.OffHeapGraph.
+ */
+public interface IntIndexedGraph extends IndexedGraph<Integer> {
+
+    /** Dense id of key, or -1 if it is not a vertex. */
+    int indexOf(int key);
+
+    int keyAt(int id);
+
+    @Override
+    default int idOf(Integer value) {
+        return value == null ? -1 : indexOf(value);
+    }
+
+    @Override
+    default Integer valueOf(int id) {
+        return keyAt(id);
+    }
+
+    /** Same as bfs(Integer), as keys in an int[]; empty if startKey is not a vertex. */
+    default int[] bfs(int startKey) {
+        int s = indexOf(startKey);
+        if (s < 0) return new int[0];
+        boolean[] visited = new boolean[vertexCount()];
+        int[] q = new int[vertexCount()];
+        int head = 0, tail = 0;
+        visited[s] = true;
+        q[tail++] = s;
+        while (head < tail) {
+            int v = q[head++];
+            for (int a = arcStart(v), end = arcEnd(v); a < end; a++) {
+                int u = arcTarget(a);
+                if (!visited[u]) {
+                    visited[u] = true;
+                    q[tail++] = u;
+                }
+            }
+        }
+        int[] order = Arrays.copyOf(q, tail);
+        for (int i = 0; i < tail; i++) order[i] = keyAt(order[i]);
+        return order;
+    }
+}
@@ -27,7 +27,7 @@ public final class Vertex<T> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return value.hashCode();     // value is non-null; Objects.hash would box it into a varargs array
     }
 
     @Override
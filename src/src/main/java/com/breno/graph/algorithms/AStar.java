@@ -0,0 +1,116 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Edge;
+import com.breno.graph.Graph;
+import com.breno.graph.Vertex;
+
+import java.util.*;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * A* point-to-point search (non-negative edges).
+ * The heuristic h(v, target) must never overestimate the remaining distance;
+ * a vertex is reopened if a shorter path to it shows up later, so admissibility
+ * is enough for exact answers, while consistent heuristics never reopen.
+ */
+public final class AStar {
+    private AStar() {}
+
+    private record Queued<T>(Vertex<T> vertex, float g, float f) {}
+
+    public static <T> Dijkstra.Path<T> shortestPath(Graph<T> g, T source, T target,
+                                                    ToDoubleBiFunction<T, T> heuristic) {
+        Optional<Vertex<T>> s = g.findVertex(source);
+        Optional<Vertex<T>> t = g.findVertex(target);
+        if (s.isEmpty() || t.isEmpty()) return Dijkstra.Path.none(0);
+
+        Map<Vertex<T>, Float> dist = new HashMap<>();
+        Map<Vertex<T>, Vertex<T>> parent = new HashMap<>();
+        PriorityQueue<Queued<T>> pq = new PriorityQueue<>(Comparator.comparingDouble(Queued::f));
+        dist.put(s.get(), 0f);
+        pq.add(new Queued<>(s.get(), 0f, (float) heuristic.applyAsDouble(source, target)));
+
+        int settled = 0;
+        while (!pq.isEmpty()) {
+            Queued<T> q = pq.poll();
+            Vertex<T> u = q.vertex();
+            if (q.g() > dist.get(u)) continue;   // stale entry
+            settled++;
+            if (u.equals(t.get())) {
+                LinkedList<T> path = new LinkedList<>();
+                for (Vertex<T> at = u; at != null; at = parent.get(at)) path.addFirst(at.getValue());
+                return new Dijkstra.Path<>(path, q.g(), settled);
+            }
+            for (Edge<T> e : g.outgoing(u)) {
+                float w = e.getWeight();
+                if (w < 0) throw new IllegalArgumentException("A* requires non-negative weights");
+                Vertex<T> v = e.getTo();
+                float nd = q.g() + w;
+                if (nd < dist.getOrDefault(v, Float.POSITIVE_INFINITY)) {
+                    dist.put(v, nd);
+                    parent.put(v, u);
+                    pq.add(new Queued<>(v, nd, nd + (float) heuristic.applyAsDouble(v.getValue(), target)));
+                }
+            }
+        }
+        return Dijkstra.Path.none(settled);
+    }
+
+    /** A* on a CSR snapshot with array state and an indexed heap keyed by g + h. */
+    public static <T> Dijkstra.Path<T> shortestPath(CsrGraph<T> g, T source, T target,
+                                                    ToDoubleBiFunction<T, T> heuristic) {
+        int t = g.idOf(target);
+        return search(g, g.idOf(source), t, v -> (float) heuristic.applyAsDouble(g.valueOf(v), target));
+    }
+
+    /** ALT query: A* on the landmarks' snapshot, bounded by the triangle inequality over ids. */
+    public static <T> Dijkstra.Path<T> alt(Landmarks<T> landmarks, T source, T target) {
+        CsrGraph<T> g = landmarks.graph();
+        int t = g.idOf(target);
+        return search(g, g.idOf(source), t, v -> landmarks.lowerBound(v, t));
+    }
+
+    @FunctionalInterface
+    private interface IntHeuristic {
+        float estimate(int v);
+    }
+
+    private static <T> Dijkstra.Path<T> search(CsrGraph<T> g, int s, int t, IntHeuristic h) {
+        if (s < 0 || t < 0) return Dijkstra.Path.none(0);
+        int n = g.vertexCount();
+        float[] dist = new float[n];
+        int[] parent = new int[n];
+        float[] hCache = new float[n];
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        Arrays.fill(hCache, Float.NaN);
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, DijkstraEngine.DEFAULT_ARITY);
+
+        dist[s] = 0f;
+        heap.offer(s, h.estimate(s));
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settled++;
+            if (u == t) {
+                LinkedList<T> path = new LinkedList<>();
+                for (int at = u; at >= 0; at = parent[at]) path.addFirst(g.valueOf(at));
+                return new Dijkstra.Path<>(path, dist[u], settled);
+            }
+            for (int a = g.arcStart(u), end = g.arcEnd(u); a < end; a++) {
+                float w = g.arcWeight(a);
+                if (w < 0) throw new IllegalArgumentException("A* requires non-negative weights");
+                int v = g.arcTarget(a);
+                float nd = dist[u] + w;
+                if (nd < dist[v]) {
+                    dist[v] = nd;
+                    parent[v] = u;
+                    if (Float.isNaN(hCache[v])) hCache[v] = h.estimate(v);
+                    heap.offer(v, nd + hCache[v]);
+                }
+            }
+        }
+        return Dijkstra.Path.none(settled);
+    }
+}
@@ -0,0 +1,427 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+
+import java.util.*;
+
+/**
+ * Contraction Hierarchies for repeated point-to-point queries (non-negative edges).
+ *
+ * Preprocessing contracts vertices one at a time in order of a lazily updated
+ * priority (edge difference plus contracted neighbours). When v is contracted,
+ * a shortcut u->x of weight w(u,v)+w(v,x) is added unless a bounded local
+ * "witness" search finds a path from u to x at least as short that avoids v.
+ * Queries run a bidirectional Dijkstra that only walks arcs towards higher-ranked
+ * vertices, then unpack every shortcut back into the original vertices.
+ *
+ * The hierarchy is a snapshot: later changes to the source graph are not seen.
+ * Queries are thread-safe; each thread keeps its own scratch arrays.
+ */
+public final class ContractionHierarchy<T> {
+    /** Settled-vertex budgets of one witness search; smaller builds faster but adds more shortcuts. */
+    private static final int WITNESS_LIMIT_SIMULATE = 50;
+    private static final int WITNESS_LIMIT_CONTRACT = 500;
+
+    private final CsrGraph<T> g;
+    private final int[] rank;
+    // upward arcs u->x with rank[x] > rank[u], stored at u
+    private final int[] fOffsets, fTargets, fMiddle;
+    private final float[] fWeights;
+    // arcs x->u with rank[x] > rank[u], stored at u (searched backwards from the target)
+    private final int[] bOffsets, bTargets, bMiddle;
+    private final float[] bWeights;
+    private final int shortcuts;
+    private final ThreadLocal<Query> scratch;
+
+    private ContractionHierarchy(CsrGraph<T> g, int[] rank, ArcList[] up, ArcList[] down, int shortcuts) {
+        this.g = g;
+        this.rank = rank;
+        this.shortcuts = shortcuts;
+        int n = g.vertexCount();
+        this.fOffsets = new int[n + 1];
+        this.bOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            fOffsets[v + 1] = fOffsets[v] + up[v].size;
+            bOffsets[v + 1] = bOffsets[v] + down[v].size;
+        }
+        this.fTargets = new int[fOffsets[n]];
+        this.fMiddle = new int[fOffsets[n]];
+        this.fWeights = new float[fOffsets[n]];
+        this.bTargets = new int[bOffsets[n]];
+        this.bMiddle = new int[bOffsets[n]];
+        this.bWeights = new float[bOffsets[n]];
+        for (int v = 0; v < n; v++) {
+            up[v].copyTo(fOffsets[v], fTargets, fWeights, fMiddle);
+            down[v].copyTo(bOffsets[v], bTargets, bWeights, bMiddle);
+        }
+        this.scratch = ThreadLocal.withInitial(() -> new Query(n));
+    }
+
+    public static <T> ContractionHierarchy<T> build(Graph<T> graph) {
+        return new Builder<>(graph.freeze()).run();
+    }
+
+    /** Number of shortcut arcs added by preprocessing. */
+    public int shortcutCount() {
+        return shortcuts;
+    }
+
+    /** Position of v in the contraction order (0 = contracted first), or -1 if absent. */
+    public int rankOf(T v) {
+        int id = g.idOf(v);
+        return id < 0 ? -1 : rank[id];
+    }
+
+    /** Shortest path from source to target, unpacked to original vertices. */
+    public Dijkstra.Path<T> query(T source, T target) {
+        int s = g.idOf(source);
+        int t = g.idOf(target);
+        if (s < 0 || t < 0) return Dijkstra.Path.none(0);
+
+        Query q = scratch.get();
+        q.reset();
+        q.fwd.start(s);
+        q.bwd.start(t);
+        float best = Float.POSITIVE_INFINITY;
+        int meet = -1;
+        int settled = 0;
+        while (true) {
+            boolean fwdOpen = q.fwd.minKey() < best;
+            boolean bwdOpen = q.bwd.minKey() < best;
+            if (!fwdOpen && !bwdOpen) break;
+            boolean forward = fwdOpen && (!bwdOpen || q.fwd.minKey() <= q.bwd.minKey());
+            Side side = forward ? q.fwd : q.bwd;
+            Side other = forward ? q.bwd : q.fwd;
+            int u = side.heap.pollMin();
+            settled++;
+            if (other.dist[u] != Float.POSITIVE_INFINITY) {
+                float through = side.dist[u] + other.dist[u];
+                if (through < best) {
+                    best = through;
+                    meet = u;
+                }
+            }
+            if (forward) side.relax(u, fOffsets, fTargets, fWeights);
+            else side.relax(u, bOffsets, bTargets, bWeights);
+        }
+        if (meet < 0) return Dijkstra.Path.none(settled);
+
+        // hierarchy path s..meet..t, then expand each arc
+        IntList hops = new IntList();
+        for (int at = meet; at >= 0; at = q.fwd.parent[at]) hops.add(at);
+        hops.reverse();
+        for (int at = q.bwd.parent[meet]; at >= 0; at = q.bwd.parent[at]) hops.add(at);
+
+        List<T> path = new ArrayList<>();
+        path.add(g.valueOf(s));
+        for (int i = 0; i + 1 < hops.size; i++) unpack(hops.data[i], hops.data[i + 1], path);
+        return new Dijkstra.Path<>(path, best, settled);
+    }
+
+    /** Appends the original vertices after a on the arc a->b, expanding shortcuts. */
+    private void unpack(int a, int b, List<T> out) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{a, b});
+        while (!stack.isEmpty()) {
+            int[] arc = stack.pop();
+            int mid = middleOf(arc[0], arc[1]);
+            if (mid < 0) {
+                out.add(g.valueOf(arc[1]));
+            } else {
+                stack.push(new int[]{mid, arc[1]});
+                stack.push(new int[]{arc[0], mid});
+            }
+        }
+    }
+
+    /** Contracted vertex bypassed by the arc a->b, or -1 for an original arc. */
+    private int middleOf(int a, int b) {
+        if (rank[a] < rank[b]) {
+            for (int i = fOffsets[a]; i < fOffsets[a + 1]; i++) if (fTargets[i] == b) return fMiddle[i];
+        } else {
+            for (int i = bOffsets[b]; i < bOffsets[b + 1]; i++) if (bTargets[i] == a) return bMiddle[i];
+        }
+        throw new IllegalStateException("Missing hierarchy arc " + a + "->" + b);
+    }
+
+    /** Per-thread query state. */
+    private static final class Query {
+        final Side fwd;
+        final Side bwd;
+
+        Query(int n) {
+            fwd = new Side(n);
+            bwd = new Side(n);
+        }
+
+        void reset() {
+            fwd.reset();
+            bwd.reset();
+        }
+    }
+
+    /** One direction of the upward search; reset only clears what the last query touched. */
+    private static final class Side {
+        final float[] dist;
+        final int[] parent;
+        final IndexedDaryHeap heap;
+        final int[] touched;
+        int touchedCount;
+
+        Side(int n) {
+            dist = new float[n];
+            parent = new int[n];
+            heap = new IndexedDaryHeap(n, DijkstraEngine.DEFAULT_ARITY);
+            touched = new int[n];
+            Arrays.fill(dist, Float.POSITIVE_INFINITY);
+            Arrays.fill(parent, -1);
+        }
+
+        void start(int v) {
+            set(v, 0f, -1);
+        }
+
+        float minKey() {
+            return heap.isEmpty() ? Float.POSITIVE_INFINITY : heap.minKey();
+        }
+
+        void relax(int u, int[] offsets, int[] targets, float[] weights) {
+            float du = dist[u];
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                float nd = du + weights[a];
+                if (nd < dist[v]) set(v, nd, u);
+            }
+        }
+
+        private void set(int v, float d, int p) {
+            if (dist[v] == Float.POSITIVE_INFINITY) touched[touchedCount++] = v;
+            dist[v] = d;
+            parent[v] = p;
+            heap.offer(v, d);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = Float.POSITIVE_INFINITY;
+                parent[touched[i]] = -1;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+
+    /** Growable arc list used while contracting; parallel arcs keep only the lightest. */
+    private static final class ArcList {
+        int[] to = new int[4];
+        float[] w = new float[4];
+        int[] mid = new int[4];
+        int size;
+
+        void put(int target, float weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (to[i] == target) {
+                    if (weight < w[i]) {
+                        w[i] = weight;
+                        mid[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == to.length) {
+                to = Arrays.copyOf(to, size * 2);
+                w = Arrays.copyOf(w, size * 2);
+                mid = Arrays.copyOf(mid, size * 2);
+            }
+            to[size] = target;
+            w[size] = weight;
+            mid[size] = middle;
+            size++;
+        }
+
+        void remove(int target) {
+            for (int i = 0; i < size; i++) {
+                if (to[i] == target) {
+                    size--;
+                    to[i] = to[size];
+                    w[i] = w[size];
+                    mid[i] = mid[size];
+                    return;
+                }
+            }
+        }
+
+        void copyTo(int at, int[] targets, float[] weights, int[] middles) {
+            System.arraycopy(to, 0, targets, at, size);
+            System.arraycopy(w, 0, weights, at, size);
+            System.arraycopy(mid, 0, middles, at, size);
+        }
+    }
+
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int x) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = x;
+        }
+
+        void reverse() {
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int tmp = data[i];
+                data[i] = data[j];
+                data[j] = tmp;
+            }
+        }
+    }
+
+    /** Contraction state; out/in lists only hold arcs between not-yet-contracted vertices. */
+    private static final class Builder<T> {
+        private final CsrGraph<T> g;
+        private final int n;
+        private final ArcList[] out;
+        private final ArcList[] in;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbours;
+        private final float[] wDist;
+        private final int[] wTouched;
+        private int wTouchedCount;
+        private final IndexedDaryHeap wHeap;
+        private final int[] targetMark;
+        private int stamp;
+        private int shortcuts;
+
+        Builder(CsrGraph<T> g) {
+            this.g = g;
+            this.n = g.vertexCount();
+            this.out = new ArcList[n];
+            this.in = new ArcList[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new ArcList();
+                in[v] = new ArcList();
+            }
+            for (int u = 0; u < n; u++) {
+                for (int a = g.arcStart(u); a < g.arcEnd(u); a++) {
+                    int v = g.arcTarget(a);
+                    float w = g.arcWeight(a);
+                    if (w < 0) throw new IllegalArgumentException("Contraction hierarchies require non-negative weights");
+                    if (u == v) continue;
+                    out[u].put(v, w, -1);
+                    in[v].put(u, w, -1);
+                }
+            }
+            this.contracted = new boolean[n];
+            this.contractedNeighbours = new int[n];
+            this.wDist = new float[n];
+            this.wTouched = new int[n];
+            this.wHeap = new IndexedDaryHeap(n, DijkstraEngine.DEFAULT_ARITY);
+            this.targetMark = new int[n];
+            Arrays.fill(wDist, Float.POSITIVE_INFINITY);
+        }
+
+        ContractionHierarchy<T> run() {
+            int[] rank = new int[n];
+            IndexedDaryHeap order = new IndexedDaryHeap(n, DijkstraEngine.DEFAULT_ARITY);
+            for (int v = 0; v < n; v++) order.offer(v, priority(v));
+
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.pollMin();
+                float p = priority(v);
+                if (!order.isEmpty() && p > order.minKey()) {
+                    order.offer(v, p);   // lazy update: priority went up, try the next one
+                    continue;
+                }
+                contract(v, true);
+                rank[v] = next++;
+                contracted[v] = true;
+                // v's own lists now only hold arcs to higher-ranked vertices and stay frozen
+                for (int i = 0; i < out[v].size; i++) {
+                    in[out[v].to[i]].remove(v);
+                    contractedNeighbours[out[v].to[i]]++;
+                }
+                for (int i = 0; i < in[v].size; i++) {
+                    out[in[v].to[i]].remove(v);
+                    contractedNeighbours[in[v].to[i]]++;
+                }
+            }
+            return new ContractionHierarchy<>(g, rank, out, in, shortcuts);
+        }
+
+        private float priority(int v) {
+            int added = contract(v, false);
+            return added - in[v].size - out[v].size + contractedNeighbours[v];
+        }
+
+        /** Counts (and with apply, adds) the shortcuts needed to contract v. */
+        private int contract(int v, boolean apply) {
+            ArcList ins = in[v];
+            ArcList outs = out[v];
+            int count = 0;
+            for (int i = 0; i < ins.size; i++) {
+                int u = ins.to[i];
+                float wu = ins.w[i];
+                float maxVia = 0f;
+                int targets = 0;
+                stamp++;
+                for (int j = 0; j < outs.size; j++) {
+                    int x = outs.to[j];
+                    if (x == u) continue;
+                    maxVia = Math.max(maxVia, wu + outs.w[j]);
+                    if (targetMark[x] != stamp) {
+                        targetMark[x] = stamp;
+                        targets++;
+                    }
+                }
+                if (targets == 0) continue;
+                witness(u, v, maxVia, targets, apply ? WITNESS_LIMIT_CONTRACT : WITNESS_LIMIT_SIMULATE);
+                for (int j = 0; j < outs.size; j++) {
+                    int x = outs.to[j];
+                    if (x == u) continue;
+                    float via = wu + outs.w[j];
+                    if (wDist[x] <= via) continue;   // witness path found
+                    count++;
+                    if (apply) {
+                        out[u].put(x, via, v);
+                        in[x].put(u, via, v);
+                        shortcuts++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Bounded Dijkstra from u over uncontracted vertices, avoiding skip; stops once every
+         * vertex marked with the current stamp is settled. Leaves distances in wDist.
+         */
+        private void witness(int u, int skip, float bound, int targets, int limit) {
+            for (int i = 0; i < wTouchedCount; i++) wDist[wTouched[i]] = Float.POSITIVE_INFINITY;
+            wTouchedCount = 0;
+            wHeap.clear();
+
+            wDist[u] = 0f;
+            wTouched[wTouchedCount++] = u;
+            wHeap.offer(u, 0f);
+            int settled = 0;
+            while (!wHeap.isEmpty()) {
+                int x = wHeap.pollMin();
+                if (wDist[x] > bound || ++settled > limit) break;
+                if (targetMark[x] == stamp && --targets == 0) break;
+                ArcList arcs = out[x];
+                for (int i = 0; i < arcs.size; i++) {
+                    int y = arcs.to[i];
+                    if (y == skip || contracted[y]) continue;
+                    float nd = wDist[x] + arcs.w[i];
+                    if (nd < wDist[y]) {
+                        if (wDist[y] == Float.POSITIVE_INFINITY) wTouched[wTouchedCount++] = y;
+                        wDist[y] = nd;
+                        wHeap.offer(y, nd);
+                    }
+                }
+            }
+        }
+    }
+}
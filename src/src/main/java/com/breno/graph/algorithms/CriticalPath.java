@@ -0,0 +1,63 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+
+import java.util.*;
+
+/**
+ * Longest (critical) path of a DAG: one pass over a topological order, O(V + E).
+ * The path's cost is the sum of its arc weights plus, when vertex costs are given,
+ * the costs of its vertices. Any sign of weight is fine, since there are no cycles.
+ */
+public final class CriticalPath {
+    private CriticalPath() {}
+
+    public static final class Result<T> {
+        /** Vertices from the first to the last of the path; empty for an empty graph. */
+        public final List<T> path;
+        public final double length;
+        public Result(List<T> path, double length) {
+            this.path = path;
+            this.length = length;
+        }
+    }
+
+    /** Longest path by edge weights; throws IllegalStateException on a cycle. */
+    public static <T> Result<T> longestPath(Graph<T> g) {
+        if (!g.isDirected()) throw new IllegalArgumentException("Critical path requires a directed graph.");
+        return longestPath(g.freeze());
+    }
+
+    public static <T> Result<T> longestPath(CsrGraph<T> g) {
+        if (!g.isDirected()) throw new IllegalArgumentException("Critical path requires a directed graph.");
+        return longestPath(g, TopologicalSort.order(g, null), null, true);
+    }
+
+    /** Longest path for vertex costs (by id, may be null) plus arc weights if useArcWeights, over a given topological order. */
+    static <T> Result<T> longestPath(CsrGraph<T> g, int[] order, double[] cost, boolean useArcWeights) {
+        int n = g.vertexCount();
+        if (n == 0) return new Result<>(List.of(), 0);
+        double[] best = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        if (cost != null) System.arraycopy(cost, 0, best, 0, n);
+        for (int v : order) {
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int u = g.arcTarget(a);
+                double d = best[v] + (useArcWeights ? g.arcWeight(a) : 0) + (cost != null ? cost[u] : 0);
+                if (d > best[u] || (d == best[u] && parent[u] < 0)) {    // on ties prefer the longer chain
+                    best[u] = d;
+                    parent[u] = v;
+                }
+            }
+        }
+        int last = order[0];
+        for (int v : order) {
+            if (best[v] > best[last]) last = v;
+        }
+        LinkedList<T> path = new LinkedList<>();
+        for (int at = last; at >= 0; at = parent[at]) path.addFirst(g.valueOf(at));
+        return new Result<>(path, best[last]);
+    }
+}
@@ -1,58 +1,157 @@
 package com.breno.graph.algorithms;
 
-import com.breno.graph.Edge;
+import com.breno.graph.CsrGraph;
 import com.breno.graph.Graph;
-import com.breno.graph.Vertex;
+import com.breno.graph.IndexedGraph;
+import com.breno.graph.IntGraph;
 
 import java.util.*;
 
 /**
- * Simple DFS-based cycle detection.
+ * DFS-based cycle detection with an explicit stack, so it handles chains of any length.
+ * State lives in arrays indexed by CSR ids; Graph and IntGraph inputs are frozen first.
  * For directed graphs, uses colors (0=unvisited,1=visiting,2=done).
- * For undirected graphs, checks back-edges ignoring the parent.
+ * For undirected graphs, checks back-edges other than the twin of the tree edge.
+ *
+ * The find* methods return one cycle as its vertices in order - the last one has an
+ * edge back to the first - or an empty list if there is none (for IntGraph, an int[]
+ * of keys, empty if none). A self-loop is a one-vertex cycle.
  */
 public final class CycleDetector {
     private CycleDetector() {}
 
     public static <T> boolean hasCycleDirected(Graph<T> g) {
+        return !findCycleDirected(g).isEmpty();
+    }
+
+    public static <T> boolean hasCycleUndirected(Graph<T> g) {
+        return !findCycleUndirected(g).isEmpty();
+    }
+
+    public static <T> List<T> findCycleDirected(Graph<T> g) {
         if (!g.isDirected()) throw new IllegalArgumentException("Expected directed graph");
-        Map<Vertex<T>, Integer> color = new HashMap<>();
-        for (Vertex<T> v : g.vertices()) color.put(v, 0);
-        for (Vertex<T> v : g.vertices()) {
-            if (color.get(v) == 0 && dfsDirected(g, v, color)) return true;
-        }
-        return false;
+        return findCycleDirected(g.freeze());
     }
 
-    private static <T> boolean dfsDirected(Graph<T> g, Vertex<T> v, Map<Vertex<T>, Integer> color) {
-        color.put(v, 1);
-        for (Edge<T> e : g.outgoing(v)) {
-            Vertex<T> u = e.getTo();
-            int c = color.getOrDefault(u, 0);
-            if (c == 1) return true;        // back-edge
-            if (c == 0 && dfsDirected(g, u, color)) return true;
-        }
-        color.put(v, 2);
-        return false;
+    public static <T> List<T> findCycleUndirected(Graph<T> g) {
+        if (g.isDirected()) throw new IllegalArgumentException("Expected undirected graph");
+        return findCycleUndirected(g.freeze());
     }
 
-    public static <T> boolean hasCycleUndirected(Graph<T> g) {
+    public static <T> boolean hasCycleDirected(CsrGraph<T> g) {
+        return !findCycleDirected(g).isEmpty();
+    }
+
+    public static <T> boolean hasCycleUndirected(CsrGraph<T> g) {
+        return !findCycleUndirected(g).isEmpty();
+    }
+
+    public static <T> List<T> findCycleDirected(CsrGraph<T> g) {
+        if (!g.isDirected()) throw new IllegalArgumentException("Expected directed graph");
+        return values(g, directedCycle(g));
+    }
+
+    public static <T> List<T> findCycleUndirected(CsrGraph<T> g) {
+        if (g.isDirected()) throw new IllegalArgumentException("Expected undirected graph");
+        return values(g, undirectedCycle(g));
+    }
+
+    public static int[] findCycleDirected(IntGraph g) {
+        if (!g.isDirected()) throw new IllegalArgumentException("Expected directed graph");
+        return keys(g.freeze(), directedCycle(g.freeze()));
+    }
+
+    public static int[] findCycleUndirected(IntGraph g) {
         if (g.isDirected()) throw new IllegalArgumentException("Expected undirected graph");
-        Set<Vertex<T>> vis = new HashSet<>();
-        for (Vertex<T> v : g.vertices()) {
-            if (!vis.contains(v) && dfsUndirected(g, v, null, vis)) return true;
+        return keys(g.freeze(), undirectedCycle(g.freeze()));
+    }
+
+    /** Directed check; iterative DFS with an explicit stack of (vertex, next arc). Returns the cycle's ids. */
+    private static int[] directedCycle(IndexedGraph<?> g) {
+        int n = g.vertexCount();
+        byte[] color = new byte[n];
+        int[] stack = new int[n];
+        int[] nextArc = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (color[root] != 0) continue;
+            int top = 0;
+            stack[0] = root;
+            nextArc[0] = g.arcStart(root);
+            color[root] = 1;
+            while (top >= 0) {
+                int v = stack[top];
+                if (nextArc[top] == g.arcEnd(v)) {
+                    color[v] = 2;
+                    top--;
+                    continue;
+                }
+                int u = g.arcTarget(nextArc[top]++);
+                if (color[u] == 1) return cycleOnStack(stack, top, u);    // back-edge
+                if (color[u] == 0) {
+                    color[u] = 1;
+                    stack[++top] = u;
+                    nextArc[top] = g.arcStart(u);
+                }
+            }
         }
-        return false;
+        return new int[0];
     }
 
-    private static <T> boolean dfsUndirected(Graph<T> g, Vertex<T> v, Vertex<T> parent, Set<Vertex<T>> vis) {
-        vis.add(v);
-        for (Edge<T> e : g.outgoing(v)) {
-            Vertex<T> u = e.getTo();
-            if (u.equals(parent)) continue;
-            if (vis.contains(u)) return true;
-            if (dfsUndirected(g, u, v, vis)) return true;
+    /**
+     * Undirected check; like the directed one, but the arc back to the DFS parent is
+     * skipped once, as the twin of the tree edge. A second arc to the parent is a
+     * parallel edge, i.e. a two-vertex cycle. Every other arc to a visited vertex leads to
+     * an ancestor, which is still on the stack.
+     */
+    private static int[] undirectedCycle(IndexedGraph<?> g) {
+        int n = g.vertexCount();
+        boolean[] vis = new boolean[n];
+        int[] stack = new int[n];
+        int[] parentOf = new int[n];
+        int[] nextArc = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (vis[root]) continue;
+            int top = 0;
+            stack[0] = root;
+            parentOf[0] = -1;
+            nextArc[0] = g.arcStart(root);
+            vis[root] = true;
+            while (top >= 0) {
+                int v = stack[top];
+                if (nextArc[top] == g.arcEnd(v)) {
+                    top--;
+                    continue;
+                }
+                int u = g.arcTarget(nextArc[top]++);
+                if (u == parentOf[top]) {
+                    parentOf[top] = -1;
+                    continue;
+                }
+                if (vis[u]) return cycleOnStack(stack, top, u);
+                vis[u] = true;
+                stack[++top] = u;
+                parentOf[top] = v;
+                nextArc[top] = g.arcStart(u);
+            }
         }
-        return false;
+        return new int[0];
+    }
+
+    /** stack[i..top] where stack[i] == u: the tree path from u down to the vertex whose arc closed the cycle. */
+    private static int[] cycleOnStack(int[] stack, int top, int u) {
+        int i = top;
+        while (stack[i] != u) i--;
+        return Arrays.copyOfRange(stack, i, top + 1);
+    }
+
+    private static <T> List<T> values(CsrGraph<T> g, int[] cycle) {
+        List<T> out = new ArrayList<>(cycle.length);
+        for (int v : cycle) out.add(g.valueOf(v));
+        return out;
+    }
+
+    private static int[] keys(IntGraph.Snapshot g, int[] cycle) {
+        for (int i = 0; i < cycle.length; i++) cycle[i] = g.keyAt(cycle[i]);
+        return cycle;
     }
 }
@@ -0,0 +1,169 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs one task per vertex of a DAG on an executor, each after all of its predecessors.
+ * Every vertex has an atomic count of unfinished predecessors (one per arc); the task
+ * that brings a successor's count to zero submits it, so work is released as soon as
+ * it is ready rather than level by level. A failing task stops further releases; the
+ * tasks already running finish and the first failure is rethrown.
+ */
+public final class DagExecutor {
+    private DagExecutor() {}
+
+    @FunctionalInterface
+    public interface Task<T> {
+        void run(T vertex);
+    }
+
+    /** Timings of one run. */
+    public static final class Report<T> {
+        /** Time from the first submission until the last task finished. */
+        public final long wallNanos;
+        /** Sum of all task durations. */
+        public final long workNanos;
+        /** Chain of dependent tasks with the largest total measured duration. */
+        public final List<T> criticalPath;
+        public final long criticalPathNanos;
+        /** Most tasks seen running at the same time. */
+        public final int maxConcurrent;
+
+        public Report(long wallNanos, long workNanos, List<T> criticalPath, long criticalPathNanos, int maxConcurrent) {
+            this.wallNanos = wallNanos;
+            this.workNanos = workNanos;
+            this.criticalPath = criticalPath;
+            this.criticalPathNanos = criticalPathNanos;
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        /** Measured parallelism: average number of tasks running during the run. */
+        public double parallelism() {
+            return wallNanos == 0 ? 0 : (double) workNanos / wallNanos;
+        }
+
+        /** Best parallelism any schedule could reach with these durations: work / critical path. */
+        public double availableParallelism() {
+            return criticalPathNanos == 0 ? 0 : (double) workNanos / criticalPathNanos;
+        }
+    }
+
+    public static <T> Report<T> run(Graph<T> g, Task<T> task, ExecutorService executor) {
+        if (!g.isDirected()) throw new IllegalArgumentException("Task graph must be directed.");
+        return run(g.freeze(), task, executor);
+    }
+
+    /** Blocks until every task has run; throws IllegalStateException up front if g has a cycle. */
+    public static <T> Report<T> run(CsrGraph<T> g, Task<T> task, ExecutorService executor) {
+        if (!g.isDirected()) throw new IllegalArgumentException("Task graph must be directed.");
+        int[] order = TopologicalSort.order(g, null);
+        Run<T> run = new Run<>(g, task, executor);
+        run.start();
+        long[] nanos = run.duration;
+        double[] cost = new double[nanos.length];
+        long work = 0;
+        for (int v = 0; v < nanos.length; v++) {
+            cost[v] = nanos[v];
+            work += nanos[v];
+        }
+        CriticalPath.Result<T> cp = CriticalPath.longestPath(g, order, cost, false);
+        return new Report<>(run.wallNanos, work, cp.path, (long) cp.length, run.maxConcurrent.get());
+    }
+
+    private static final class Run<T> {
+        final CsrGraph<T> g;
+        final Task<T> task;
+        final ExecutorService executor;
+        final AtomicIntegerArray pending;
+        final int[] roots;
+        final long[] duration;
+        final AtomicInteger outstanding = new AtomicInteger();      // submitted, not finished
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        long wallNanos;
+
+        Run(CsrGraph<T> g, Task<T> task, ExecutorService executor) {
+            this.g = g;
+            this.task = task;
+            this.executor = executor;
+            int n = g.vertexCount();
+            int[] indeg = new int[n];
+            for (int a = 0; a < g.arcCount(); a++) indeg[g.arcTarget(a)]++;
+            int k = 0;
+            int[] r = new int[n];
+            for (int v = 0; v < n; v++) {
+                if (indeg[v] == 0) r[k++] = v;
+            }
+            this.roots = Arrays.copyOf(r, k);
+            this.pending = new AtomicIntegerArray(indeg);
+            this.duration = new long[n];
+        }
+
+        void start() {
+            long t0 = System.nanoTime();
+            outstanding.incrementAndGet();          // held by the caller until the roots are submitted
+            for (int v : roots) submit(v);          // fixed list: pending also reads 0 once a vertex is released
+            finished();
+            try {
+                done.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, ex);
+                throw new IllegalStateException("Interrupted while running task graph", ex);
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException(ex.getCause());
+            }
+            wallNanos = System.nanoTime() - t0;
+            Throwable f = failure.get();
+            if (f instanceof RuntimeException re) throw re;
+            if (f instanceof Error e) throw e;
+            if (f != null) throw new IllegalStateException(f);
+        }
+
+        private void submit(int v) {
+            outstanding.incrementAndGet();
+            try {
+                executor.execute(() -> execute(v));
+            } catch (RejectedExecutionException ex) {
+                failure.compareAndSet(null, ex);
+                finished();
+            }
+        }
+
+        private void execute(int v) {
+            try {
+                if (failure.get() != null) return;
+                int now = running.incrementAndGet();
+                maxConcurrent.accumulateAndGet(now, Math::max);
+                long t = System.nanoTime();
+                try {
+                    task.run(g.valueOf(v));
+                } finally {
+                    duration[v] = System.nanoTime() - t;
+                    running.decrementAndGet();
+                }
+                for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                    int u = g.arcTarget(a);
+                    if (pending.decrementAndGet(u) == 0 && failure.get() == null) submit(u);
+                }
+            } catch (Throwable ex) {
+                failure.compareAndSet(null, ex);
+            } finally {
+                finished();
+            }
+        }
+
+        private void finished() {
+            if (outstanding.decrementAndGet() == 0) done.complete(null);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Parallel single-source shortest paths by delta-stepping (Meyer and Sanders), non-negative edges.
+ *
+ * Tentative distances live in buckets of width delta. The lowest non-empty bucket
+ * is emptied in phases that relax its light arcs (weight <= delta) in parallel,
+ * since those can re-fill the same bucket; heavy arcs of every vertex removed from
+ * the bucket are relaxed once afterwards. Each vertex's (distance, parent) pair is
+ * packed into one long and lowered by CAS, and only a strictly shorter distance
+ * replaces it, so parent links always form a tree even with zero-weight cycles.
+ *
+ * Small delta approaches Dijkstra (little parallel work per bucket), large delta
+ * approaches Bellman-Ford (much re-relaxation).
+ */
+public final class DeltaStepping {
+    private DeltaStepping() {}
+
+    private static final long UNREACHED = pack(Float.POSITIVE_INFINITY, -1);
+
+    /** Uses the common pool and delta = (max arc weight) / (average out-degree). */
+    public static <T> Dijkstra.Result<T> shortestPaths(CsrGraph<T> g, T source) {
+        return shortestPaths(g, source, defaultDelta(g), ForkJoinPool.commonPool());
+    }
+
+    public static <T> Dijkstra.Result<T> shortestPaths(CsrGraph<T> g, T source, float delta, ForkJoinPool pool) {
+        if (!(delta > 0) || Float.isInfinite(delta)) throw new IllegalArgumentException("delta must be positive and finite");
+        int n = g.vertexCount();
+        for (int a = 0; a < g.arcCount(); a++) {
+            if (g.arcWeight(a) < 0) throw new IllegalArgumentException("Delta-stepping requires non-negative weights");
+        }
+
+        AtomicLongArray state = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) state.set(v, UNREACHED);
+        int s = g.idOf(source);
+        if (s >= 0) run(g, s, delta, pool, state);
+
+        float[] dist = new float[n];
+        int[] parent = new int[n];
+        for (int v = 0; v < n; v++) {
+            long x = state.get(v);
+            dist[v] = distOf(x);
+            parent[v] = parentOf(x);
+        }
+        return new Dijkstra.Result<>(g, dist, parent);
+    }
+
+    /** (max arc weight) / (average out-degree); 1 for an empty graph or all-zero weights. */
+    public static float defaultDelta(CsrGraph<?> g) {
+        float maxW = 0f;
+        for (int a = 0; a < g.arcCount(); a++) maxW = Math.max(maxW, g.arcWeight(a));
+        if (maxW == 0f || g.vertexCount() == 0) return 1f;
+        float avgDegree = Math.max(1f, (float) g.arcCount() / g.vertexCount());
+        return maxW / avgDegree;
+    }
+
+    private static void run(CsrGraph<?> g, int s, float delta, ForkJoinPool pool, AtomicLongArray state) {
+        int n = g.vertexCount();
+        TreeMap<Long, ParallelChunks.IntBuffer> buckets = new TreeMap<>();
+        int[] queuedIn = new int[n];     // phase stamp of the last time v was queued, for de-duplication
+        int phase = 0;
+        state.set(s, pack(0f, -1));
+        buckets.computeIfAbsent(0L, k -> new ParallelChunks.IntBuffer()).add(s);
+
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, ParallelChunks.IntBuffer> first = buckets.pollFirstEntry();
+            long index = first.getKey();
+            int[] current = first.getValue().toArray();
+            ParallelChunks.IntBuffer removed = new ParallelChunks.IntBuffer();
+
+            while (current.length > 0) {
+                int[] live = current;
+                int[] settledHere = ParallelChunks.concat(ParallelChunks.run(pool, live.length, (from, to, out) -> {
+                    for (int i = from; i < to; i++) {
+                        int u = live[i];
+                        if (bucketOf(distOf(state.get(u)), delta) == index) out.add(u);
+                    }
+                }));
+                for (int u : settledHere) removed.add(u);
+                int[] improved = relax(g, settledHere, true, delta, pool, state);
+                phase++;
+                ParallelChunks.IntBuffer again = new ParallelChunks.IntBuffer();
+                for (int v : improved) {
+                    if (queuedIn[v] == phase) continue;
+                    queuedIn[v] = phase;
+                    long b = bucketOf(distOf(state.get(v)), delta);
+                    if (b == index) again.add(v);
+                    else buckets.computeIfAbsent(b, k -> new ParallelChunks.IntBuffer()).add(v);
+                }
+                current = again.toArray();
+            }
+
+            int[] improved = relax(g, removed.toArray(), false, delta, pool, state);
+            phase++;
+            for (int v : improved) {
+                if (queuedIn[v] == phase) continue;
+                queuedIn[v] = phase;
+                buckets.computeIfAbsent(bucketOf(distOf(state.get(v)), delta), k -> new ParallelChunks.IntBuffer()).add(v);
+            }
+        }
+    }
+
+    /** Relaxes the light (or heavy) arcs of every vertex in from; returns the heads whose distance dropped. */
+    private static int[] relax(CsrGraph<?> g, int[] from, boolean light, float delta,
+                               ForkJoinPool pool, AtomicLongArray state) {
+        return ParallelChunks.concat(ParallelChunks.run(pool, from.length, (lo, hi, out) -> {
+            for (int i = lo; i < hi; i++) {
+                int u = from[i];
+                float du = distOf(state.get(u));
+                for (int a = g.arcStart(u), end = g.arcEnd(u); a < end; a++) {
+                    float w = g.arcWeight(a);
+                    if ((w <= delta) != light) continue;
+                    int v = g.arcTarget(a);
+                    float nd = du + w;
+                    long cand = pack(nd, u);
+                    long old = state.get(v);
+                    while (nd < distOf(old)) {
+                        if (state.compareAndSet(v, old, cand)) {
+                            out.add(v);
+                            break;
+                        }
+                        old = state.get(v);
+                    }
+                }
+            }
+        }));
+    }
+
+    private static long bucketOf(float d, float delta) {
+        return (long) (d / delta);
+    }
+
+    /** Non-negative float bits in the high half, parent id in the low half. */
+    private static long pack(float d, int parent) {
+        return ((long) Float.floatToIntBits(d) << 32) | (parent & 0xffffffffL);
+    }
+
+    private static float distOf(long x) {
+        return Float.intBitsToFloat((int) (x >>> 32));
+    }
+
+    private static int parentOf(long x) {
+        return (int) x;
+    }
+}
@@ -1,13 +1,17 @@
 package com.breno.graph.algorithms;
 
+import com.breno.graph.IndexedGraph;
 import com.breno.graph.Edge;
 import com.breno.graph.Graph;
+import com.breno.graph.IntGraph;
+import com.breno.graph.IntIndexedGraph;
 import com.breno.graph.Vertex;
+import com.breno.graph.metrics.Metrics;
 
 import java.util.*;
 
 /**
- * Single-source shortest paths (non-negative edges) using a priority queue.
+ * Single-source shortest paths (non-negative edges) using an indexed priority queue.
  * Complexity: O((V + E) log V) with adjacency lists.
  */
 public final class Dijkstra {
@@ -20,6 +24,10 @@ public final class Dijkstra {
             this.dist = dist;
             this.parent = parent;
         }
+        /** Array-backed result; dist and parent are read-only views over the engine arrays. */
+        Result(IndexedGraph<T> g, float[] dist, int[] parent) {
+            this(new DistView<>(g, dist), new ParentView<>(g, parent));
+        }
         public List<T> pathTo(T target) {
             if (!dist.containsKey(target) || Float.isInfinite(dist.get(target))) return List.of();
             LinkedList<T> path = new LinkedList<>();
@@ -30,45 +38,334 @@ public final class Dijkstra {
         }
     }
 
+    /** Answer to a point-to-point query. */
+    public static final class Path<T> {
+        /** Vertices from source to target; empty if the target is unreachable. */
+        public final List<T> vertices;
+        /** Path length, or +Infinity if the target is unreachable. */
+        public final float distance;
+        /** Vertices settled while answering; a measure of the work done. */
+        public final int settled;
+        public Path(List<T> vertices, float distance, int settled) {
+            this.vertices = vertices;
+            this.distance = distance;
+            this.settled = settled;
+        }
+        static <T> Path<T> none(int settled) {
+            return new Path<>(List.of(), Float.POSITIVE_INFINITY, settled);
+        }
+        public boolean found() {
+            return !vertices.isEmpty();
+        }
+    }
+
+    /** Shortest-path tree of an int-keyed graph, queried by vertex key; backed by the engine arrays. */
+    public static final class IntResult {
+        public final IntIndexedGraph graph;
+        private final float[] dist;
+        private final int[] parent;
+        IntResult(IntIndexedGraph graph, float[] dist, int[] parent) {
+            this.graph = graph;
+            this.dist = dist;
+            this.parent = parent;
+        }
+        /** Distance to key, or +Infinity if it is unreachable or not a vertex. */
+        public float distance(int key) {
+            int v = graph.indexOf(key);
+            return v < 0 ? Float.POSITIVE_INFINITY : dist[v];
+        }
+        /** Keys from the source to key; empty if key is unreachable or not a vertex. */
+        public int[] pathTo(int key) {
+            int v = graph.indexOf(key);
+            if (v < 0 || dist[v] == Float.POSITIVE_INFINITY) return new int[0];
+            int len = 0;
+            for (int at = v; at >= 0; at = parent[at]) len++;
+            int[] path = new int[len];
+            for (int at = v; at >= 0; at = parent[at]) path[--len] = graph.keyAt(at);
+            return path;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> int idOf(IndexedGraph<T> g, Object key) {
+        return g.idOf((T) key);
+    }
+
+    /** Lazy Map view of a float[] indexed by CSR ids; every vertex has an entry. */
+    private static final class DistView<T> extends AbstractMap<T, Float> {
+        private final IndexedGraph<T> g;
+        private final float[] dist;
+
+        DistView(IndexedGraph<T> g, float[] dist) {
+            this.g = g;
+            this.dist = dist;
+        }
+
+        @Override public int size() { return dist.length; }
+        @Override public boolean containsKey(Object key) { return idOf(g, key) >= 0; }
+        @Override public Float get(Object key) {
+            int v = idOf(g, key);
+            return v < 0 ? null : dist[v];
+        }
+
+        @Override
+        public Set<Entry<T, Float>> entrySet() {
+            return new AbstractSet<>() {
+                @Override public int size() { return dist.length; }
+                @Override public Iterator<Entry<T, Float>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+                        @Override public boolean hasNext() { return next < dist.length; }
+                        @Override public Entry<T, Float> next() {
+                            if (next >= dist.length) throw new NoSuchElementException();
+                            int v = next++;
+                            return new SimpleImmutableEntry<>(g.valueOf(v), dist[v]);
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /** Lazy Map view of an int[] parent array; vertices with parent -1 have no entry. */
+    private static final class ParentView<T> extends AbstractMap<T, T> {
+        private final IndexedGraph<T> g;
+        private final int[] parent;
+        private int size = -1;
+
+        ParentView(IndexedGraph<T> g, int[] parent) {
+            this.g = g;
+            this.parent = parent;
+        }
+
+        @Override public boolean containsKey(Object key) {
+            int v = idOf(g, key);
+            return v >= 0 && parent[v] >= 0;
+        }
+        @Override public T get(Object key) {
+            int v = idOf(g, key);
+            return v < 0 || parent[v] < 0 ? null : g.valueOf(parent[v]);
+        }
+        @Override public int size() {
+            if (size < 0) {
+                int c = 0;
+                for (int p : parent) if (p >= 0) c++;
+                size = c;
+            }
+            return size;
+        }
+
+        @Override
+        public Set<Entry<T, T>> entrySet() {
+            return new AbstractSet<>() {
+                @Override public int size() { return ParentView.this.size(); }
+                @Override public Iterator<Entry<T, T>> iterator() {
+                    return new Iterator<>() {
+                        private int next = advance(0);
+                        private int advance(int from) {
+                            while (from < parent.length && parent[from] < 0) from++;
+                            return from;
+                        }
+                        @Override public boolean hasNext() { return next < parent.length; }
+                        @Override public Entry<T, T> next() {
+                            if (next >= parent.length) throw new NoSuchElementException();
+                            int v = next;
+                            next = advance(next + 1);
+                            return new SimpleImmutableEntry<>(g.valueOf(v), g.valueOf(parent[v]));
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    /**
+     * Runs on a CSR snapshot of g (see shortestPaths(IndexedGraph, T)).
+     * The old map-based loop compared queued vertices through the live dist map,
+     * so keys changed while queued and the heap could hand out vertices out of order.
+     */
     public static <T> Result<T> shortestPaths(Graph<T> g, T source) {
-        Map<T, Float> dist = new HashMap<>();
-        Map<T, T> parent = new HashMap<>();
-        for (Vertex<T> v : g.vertices()) {
-            dist.put(v.getValue(), Float.POSITIVE_INFINITY);
+        Metrics.Probe probe = Metrics.start("dijkstra", source);
+        return shortestPaths(g.freeze(), source, probe);
+    }
+
+    /**
+     * Shortest paths on an indexed graph (CSR snapshot or mapped file) with float[]/int[]
+     * state and an indexed d-ary heap with decrease-key, so each vertex is queued at most once.
+     * The returned maps are lazy read-only views over those arrays.
+     */
+    public static <T> Result<T> shortestPaths(IndexedGraph<T> g, T source) {
+        return shortestPaths(g, source, Metrics.start("dijkstra", source));
+    }
+
+    private static <T> Result<T> shortestPaths(IndexedGraph<T> g, T source, Metrics.Probe probe) {
+        DijkstraEngine engine = new DijkstraEngine(g);
+        engine.run(g.idOf(source));
+        engine.report(probe);
+        return new Result<>(g, engine.dist, engine.parent);
+    }
+
+    /** Point-to-point query that stops as soon as target is settled. */
+    public static <T> Path<T> shortestPath(Graph<T> g, T source, T target) {
+        Optional<Vertex<T>> s = g.findVertex(source);
+        Optional<Vertex<T>> t = g.findVertex(target);
+        if (s.isEmpty() || t.isEmpty()) return Path.none(0);
+
+        Metrics.Probe probe = Metrics.start("dijkstra-p2p", source);
+        Search<T> fwd = new Search<>(s.get(), true);
+        Path<T> found = null;
+        while (found == null && fwd.minKey() < Float.POSITIVE_INFINITY) {
+            Vertex<T> u = fwd.poll();
+            if (u.equals(t.get())) found = new Path<>(fwd.pathFromStart(u), fwd.distOf(u), fwd.settled);
+            else fwd.scan(g, u, null, null);
+        }
+        if (probe != null) probe.finish(fwd.settled, fwd.scanned, fwd.pushes, fwd.decreaseKeys, fwd.stalePops, new int[0]);
+        return found != null ? found : Path.none(fwd.settled);
+    }
+
+    /** Point-to-point query on an indexed graph; stops as soon as target is settled. */
+    public static <T> Path<T> shortestPath(IndexedGraph<T> g, T source, T target) {
+        int t = g.idOf(target);
+        Metrics.Probe probe = Metrics.start("dijkstra-p2p", source);
+        DijkstraEngine engine = new DijkstraEngine(g);
+        engine.run(t < 0 ? -1 : g.idOf(source), t);
+        engine.report(probe);
+        if (t < 0 || engine.dist[t] == Float.POSITIVE_INFINITY) return Path.none(engine.settled);
+        return new Path<>(engine.pathTo(g, t), engine.dist[t], engine.settled);
+    }
+
+    /** Shortest paths from the vertex keyed source, with no boxing anywhere on the way. */
+    public static IntResult shortestPaths(IntGraph g, int source) {
+        return shortestPaths(g.freeze(), source);
+    }
+
+    /** Same, on any int-keyed indexed graph, e.g. an off-heap one: only the per-vertex state is on the heap. */
+    public static IntResult shortestPaths(IntIndexedGraph g, int source) {
+        Metrics.Probe probe = Metrics.start("dijkstra", source);
+        DijkstraEngine engine = new DijkstraEngine(g);
+        engine.run(g.indexOf(source));
+        engine.report(probe);
+        return new IntResult(g, engine.dist, engine.parent);
+    }
+
+    /**
+     * Bidirectional point-to-point query: a forward search on outgoing arcs and a
+     * backward search on Graph.incoming, always advancing the side with the smaller
+     * queue head. Stops once the two heads together reach the best meeting distance.
+     */
+    public static <T> Path<T> bidirectional(Graph<T> g, T source, T target) {
+        Optional<Vertex<T>> s = g.findVertex(source);
+        Optional<Vertex<T>> t = g.findVertex(target);
+        if (s.isEmpty() || t.isEmpty()) return Path.none(0);
+        if (s.get().equals(t.get())) return new Path<>(List.of(source), 0f, 1);
+
+        Metrics.Probe probe = Metrics.start("dijkstra-bidirectional", source);
+        Search<T> fwd = new Search<>(s.get(), true);
+        Search<T> bwd = new Search<>(t.get(), false);
+        Meeting<T> best = new Meeting<>();
+        while (fwd.minKey() + bwd.minKey() < best.distance) {
+            Search<T> side = fwd.minKey() <= bwd.minKey() ? fwd : bwd;
+            Search<T> other = side == fwd ? bwd : fwd;
+            side.scan(g, side.poll(), other, best);
+        }
+
+        int settled = fwd.settled + bwd.settled;
+        if (probe != null) {
+            probe.finish(settled, fwd.scanned + bwd.scanned, fwd.pushes + bwd.pushes,
+                    fwd.decreaseKeys + bwd.decreaseKeys, fwd.stalePops + bwd.stalePops, new int[0]);
         }
-        if (!dist.containsKey(source)) {
-            return new Result<>(dist, parent);
+        if (best.vertex == null) return Path.none(settled);
+        List<T> path = fwd.pathFromStart(best.vertex);
+        for (Vertex<T> at = bwd.parent.get(best.vertex); at != null; at = bwd.parent.get(at)) {
+            path.add(at.getValue());
         }
-        dist.put(source, 0f);
+        return new Path<>(path, best.distance, settled);
+    }
 
-        Comparator<T> cmp = Comparator.comparing(dist::get);
-        PriorityQueue<T> pq = new PriorityQueue<>(cmp);
-        pq.add(source);
+    private static final class Meeting<T> {
+        Vertex<T> vertex;
+        float distance = Float.POSITIVE_INFINITY;
+    }
+
+    private record Queued<T>(Vertex<T> vertex, float dist) {}
+
+    /** One direction of a map-based search; queue entries carry their key, stale ones are skipped. */
+    private static final class Search<T> {
+        private final boolean forward;
+        private final Map<Vertex<T>, Float> dist = new HashMap<>();
+        private final Map<Vertex<T>, Vertex<T>> parent = new HashMap<>();
+        private final Set<Vertex<T>> processed = new HashSet<>();
+        private final PriorityQueue<Queued<T>> pq =
+                new PriorityQueue<>(Comparator.comparingDouble(Queued::dist));
+        private int settled;
+        private long scanned;
+        private int pushes = 1;
+        private int decreaseKeys;      // re-pushes of a vertex with a better key
+        private int stalePops;
+
+        Search(Vertex<T> start, boolean forward) {
+            this.forward = forward;
+            dist.put(start, 0f);
+            pq.add(new Queued<>(start, 0f));
+        }
 
-        Set<T> processed = new HashSet<>();
+        float distOf(Vertex<T> v) {
+            return dist.getOrDefault(v, Float.POSITIVE_INFINITY);
+        }
 
-        while (!pq.isEmpty()) {
-            T uVal = pq.poll();
-            if (processed.contains(uVal)) continue;
-            processed.add(uVal);
+        /** Key of the next unprocessed vertex, or +Infinity when the search is exhausted. */
+        float minKey() {
+            while (!pq.isEmpty() && processed.contains(pq.peek().vertex())) {
+                pq.poll();
+                stalePops++;
+            }
+            return pq.isEmpty() ? Float.POSITIVE_INFINITY : pq.peek().dist();
+        }
 
-            Optional<Vertex<T>> uOpt = g.findVertex(uVal);
-            if (uOpt.isEmpty()) continue;
-            Vertex<T> u = uOpt.get();
+        Vertex<T> poll() {
+            minKey();
+            Vertex<T> u = pq.poll().vertex();
+            processed.add(u);
+            settled++;
+            return u;
+        }
 
-            for (Edge<T> e : g.outgoing(u)) {
-                T vVal = e.getTo().getValue();
+        /** Relaxes the arcs of u; with another search given, also records the best meeting vertex. */
+        void scan(Graph<T> g, Vertex<T> u, Search<T> other, Meeting<T> best) {
+            float du = dist.get(u);
+            boolean out = forward || !g.isDirected();
+            List<Edge<T>> arcs = out ? g.outgoing(u) : g.incoming(u);
+            scanned += arcs.size();
+            for (Edge<T> e : arcs) {
                 float w = e.getWeight();
                 if (w < 0) throw new IllegalArgumentException("Dijkstra requires non-negative weights");
-                float nd = dist.get(uVal) + w;
-                if (nd < dist.get(vVal)) {
-                    dist.put(vVal, nd);
-                    parent.put(vVal, uVal);
-                    pq.add(vVal);
+                Vertex<T> v = out ? e.getTo() : e.getFrom();
+                float nd = du + w;
+                float dv = distOf(v);
+                if (nd < dv) {
+                    if (dv != Float.POSITIVE_INFINITY) decreaseKeys++;
+                    dist.put(v, nd);
+                    parent.put(v, u);
+                    pq.add(new Queued<>(v, nd));
+                    pushes++;
+                }
+                if (other != null) {
+                    float through = distOf(v) + other.distOf(v);
+                    if (through < best.distance) {
+                        best.distance = through;
+                        best.vertex = v;
+                    }
                 }
             }
         }
 
-        return new Result<>(dist, parent);
+        /** Values from this search's start to v along parent links (mutable list). */
+        List<T> pathFromStart(Vertex<T> v) {
+            LinkedList<T> path = new LinkedList<>();
+            for (Vertex<T> at = v; at != null; at = parent.get(at)) {
+                path.addFirst(at.getValue());
+            }
+            return path;
+        }
     }
 }
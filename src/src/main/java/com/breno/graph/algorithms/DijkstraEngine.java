@@ -0,0 +1,139 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.IndexedGraph;
+import com.breno.graph.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Reusable Dijkstra state over the dense ids of an IndexedGraph: float[] distances,
+ * int[] parents and an indexed d-ary heap with decrease-key.
+ * The relaxation loop allocates nothing; reset() only touches vertices the
+ * previous run reached.
+ */
+final class DijkstraEngine {
+    static final int DEFAULT_ARITY = 4;
+
+    final IndexedGraph<?> g;
+    final float[] dist;
+    final int[] parent;
+    private final IndexedDaryHeap heap;
+    private final int[] touched;
+    private int touchedCount;
+    int settled;
+    private long scanned;           // arcs of settled vertices, for Metrics
+    private int improvements;       // relaxations that lowered a distance
+
+    DijkstraEngine(IndexedGraph<?> g) {
+        this.g = g;
+        int n = g.vertexCount();
+        this.dist = new float[n];
+        this.parent = new int[n];
+        this.heap = new IndexedDaryHeap(n, DEFAULT_ARITY);
+        this.touched = new int[n];
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+    }
+
+    /** Full shortest-path tree from source. */
+    void run(int source) {
+        run(source, -1);
+    }
+
+    /**
+     * Runs from source until target is settled (or the queue drains when target is -1).
+     * Only the target's distance is final after an early exit.
+     */
+    void run(int source, int target) {
+        reset();
+        if (source < 0) return;
+        touch(source, 0f, -1);
+        heap.offer(source, 0f);
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settled++;
+            if (u == target) return;
+            relax(u);
+        }
+    }
+
+    /**
+     * Runs from source until every id flagged in targets is settled; targetCount is the
+     * number of distinct flagged ids. Distances of all flagged ids are final afterwards.
+     */
+    void run(int source, boolean[] targets, int targetCount) {
+        reset();
+        if (source < 0 || targetCount == 0) return;
+        touch(source, 0f, -1);
+        heap.offer(source, 0f);
+
+        int remaining = targetCount;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settled++;
+            if (targets[u] && --remaining == 0) return;
+            relax(u);
+        }
+    }
+
+    /** Values from the source to v along parent links, or an empty list if v was not reached. */
+    <T> List<T> pathTo(IndexedGraph<T> graph, int v) {
+        if (v < 0 || dist[v] == Float.POSITIVE_INFINITY) return List.of();
+        LinkedList<T> path = new LinkedList<>();
+        for (int at = v; at >= 0; at = parent[at]) {
+            path.addFirst(graph.valueOf(at));
+        }
+        return path;
+    }
+
+    private void relax(int u) {
+        float du = dist[u];
+        int start = g.arcStart(u), end = g.arcEnd(u);
+        int improved = 0;
+        for (int a = start; a < end; a++) {
+            float w = g.arcWeight(a);
+            if (w < 0) throw new IllegalArgumentException("Dijkstra requires non-negative weights");
+            int v = g.arcTarget(a);
+            float nd = du + w;
+            if (nd < dist[v]) {
+                touch(v, nd, u);
+                heap.offer(v, nd);
+                improved++;
+            }
+        }
+        scanned += end - start;
+        improvements += improved;
+    }
+
+    /**
+     * Hands the last run's counters to probe. Every reached vertex was pushed exactly once,
+     * and every improvement other than a vertex's first one was a decrease-key.
+     */
+    void report(Metrics.Probe probe) {
+        if (probe == null) return;
+        int firstReached = Math.max(0, touchedCount - 1);       // all but the source
+        probe.finish(settled, scanned, touchedCount, improvements - firstReached, 0, new int[0]);
+    }
+
+    private void touch(int v, float d, int p) {
+        if (dist[v] == Float.POSITIVE_INFINITY) touched[touchedCount++] = v;
+        dist[v] = d;
+        parent[v] = p;
+    }
+
+    void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            dist[v] = Float.POSITIVE_INFINITY;
+            parent[v] = -1;
+        }
+        touchedCount = 0;
+        settled = 0;
+        scanned = 0;
+        improvements = 0;
+        heap.clear();
+    }
+}
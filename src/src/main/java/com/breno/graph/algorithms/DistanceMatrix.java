@@ -0,0 +1,110 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Many-to-many shortest-path distances (non-negative edges).
+ * A fixed number of worker tasks run on the given executor; each owns one reusable
+ * Dijkstra engine and pulls source indices from a shared counter, so no per-source
+ * maps or arrays are allocated besides the output row. A search stops as soon as
+ * every target is settled. Unreachable or unknown vertices give +Infinity.
+ */
+public final class DistanceMatrix {
+    private DistanceMatrix() {}
+
+    /** Receives one finished row; called concurrently from worker threads, in no particular order. */
+    @FunctionalInterface
+    public interface RowConsumer {
+        void accept(int sourceIndex, float[] row);
+    }
+
+    /** Dense matrix on the common fork-join pool; result[i][j] = d(sources[i], targets[j]). */
+    public static <T> float[][] compute(Graph<T> g, List<T> sources, List<T> targets) {
+        return compute(g.freeze(), sources, targets, ForkJoinPool.commonPool(),
+                ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    public static <T> float[][] compute(CsrGraph<T> g, List<T> sources, List<T> targets,
+                                        ExecutorService executor, int workers) {
+        float[][] result = new float[sources.size()][];
+        stream(g, sources, targets, executor, workers, (i, row) -> result[i] = row);
+        return result;
+    }
+
+    /**
+     * Computes row by row and hands each row to consumer instead of keeping the matrix.
+     * Blocks until all rows are delivered; the first worker failure is rethrown.
+     */
+    public static <T> void stream(CsrGraph<T> g, List<T> sources, List<T> targets,
+                                  ExecutorService executor, int workers, RowConsumer consumer) {
+        if (workers < 1) throw new IllegalArgumentException("workers must be >= 1");
+        int[] src = ids(g, sources);
+        int[] dst = ids(g, targets);
+        boolean[] isTarget = new boolean[g.vertexCount()];
+        int distinct = 0;
+        for (int t : dst) {
+            if (t >= 0 && !isTarget[t]) {
+                isTarget[t] = true;
+                distinct++;
+            }
+        }
+        int targetCount = distinct;
+
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < Math.min(workers, Math.max(1, src.length)); w++) {
+            futures.add(executor.submit(() -> {
+                DijkstraEngine engine = new DijkstraEngine(g);
+                try {
+                    for (int i = next.getAndIncrement(); i < src.length; i = next.getAndIncrement()) {
+                        float[] row = new float[dst.length];
+                        engine.run(src[i], isTarget, targetCount);
+                        for (int j = 0; j < dst.length; j++) {
+                            row[j] = dst[j] < 0 ? Float.POSITIVE_INFINITY : engine.dist[dst[j]];
+                        }
+                        consumer.accept(i, row);
+                    }
+                } catch (RuntimeException ex) {
+                    next.set(src.length);   // stop the other workers early
+                    throw ex;
+                }
+            }));
+        }
+        await(futures);
+    }
+
+    /** Executor that runs each worker on its own virtual thread; the caller should close it. */
+    public static ExecutorService virtualThreads() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    private static <T> int[] ids(CsrGraph<T> g, List<T> values) {
+        int[] ids = new int[values.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = g.idOf(values.get(i));
+        return ids;
+    }
+
+    private static void await(List<Future<?>> futures) {
+        RuntimeException failure = null;
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(x -> x.cancel(true));
+                throw new IllegalStateException("Interrupted while computing distance matrix", ex);
+            } catch (ExecutionException ex) {
+                if (failure == null) {
+                    failure = ex.getCause() instanceof RuntimeException re
+                            ? re : new IllegalStateException(ex.getCause());
+                }
+            }
+        }
+        if (failure != null) throw failure;
+    }
+}
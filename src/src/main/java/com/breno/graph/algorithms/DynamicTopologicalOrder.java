@@ -0,0 +1,249 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.*;
+
+import java.util.*;
+
+/**
+ * Topological order of a directed graph that is kept up to date as edges are added
+ * (Pearce-Kelly). Every vertex holds an integer position. An edge x -> y that already
+ * points forward costs O(1). Otherwise only the affected region is touched: the
+ * vertices reachable from y that sit before x, and those reaching x that sit after y.
+ * Both are found by bounded DFS, then they swap their pooled positions so the first
+ * group lands after the second. Reaching x from y means the edge closes a cycle. When x
+ * has no other arcs (say it was just added) or y has none, that vertex alone moves to
+ * the front or the back instead.
+ *
+ * It listens to the graph, so edges added through Graph or ChangeLog are handled too.
+ * If one of those closes a cycle, the order is invalid until the cycle is removed and
+ * queries throw IllegalStateException. To reject such edges instead, check
+ * cycleIfAdded() first. Removals never break the order.
+ */
+public final class DynamicTopologicalOrder<T> implements GraphListener<T>, AutoCloseable {
+
+    private final Graph<T> g;
+    private final Map<T, Integer> ids = new HashMap<>();
+    private List<Vertex<T>> vertices = new ArrayList<>();   // id -> vertex, null once removed
+    private int[] ord = new int[0];
+    private int[] mark = new int[0];                         // == stamp when visited by the current search
+    private int[] parent = new int[0];                       // forward DFS tree, for reporting cycles
+    private int stamp;
+    private int front;                                       // positions in use are front .. back-1
+    private int back;
+    private boolean stale;
+    private int lastAffected;
+    private boolean placeNextAtFront;
+
+    /** Orders the current graph; throws IllegalStateException if it already has a cycle. */
+    public DynamicTopologicalOrder(Graph<T> g) {
+        if (!g.isDirected()) throw new IllegalArgumentException("Topological order requires a directed graph.");
+        this.g = g;
+        rebuild();
+        g.addListener(this);
+    }
+
+    /** Stops listening; the order is frozen as of now. */
+    @Override
+    public void close() {
+        g.removeListener(this);
+    }
+
+    /** True if a comes before b (both must be vertices). */
+    public boolean precedes(T a, T b) {
+        fresh();
+        return ord[id(a)] < ord[id(b)];
+    }
+
+    /** All vertices in the current topological order. O(V log V). */
+    public List<T> order() {
+        fresh();
+        List<Integer> live = new ArrayList<>(ids.values());
+        live.sort(Comparator.comparingInt(v -> ord[v]));
+        List<T> out = new ArrayList<>(live.size());
+        for (int v : live) out.add(vertices.get(v).getValue());
+        return out;
+    }
+
+    /**
+     * The cycle that adding from -> to would close - from "to" along existing edges to
+     * "from" - or an empty list. Costs O(affected region), not O(V + E). When the result is
+     * empty the order is already rearranged for the new edge, so the addEdge that usually
+     * follows costs O(1).
+     */
+    public List<T> cycleIfAdded(T from, T to) {
+        fresh();
+        if (from.equals(to)) return List.of(from);
+        Integer x = ids.get(from), y = ids.get(to);
+        if (x == null || y == null) return List.of();
+        return insert(x, y);
+    }
+
+    /** Adds the edge to the graph unless it closes a cycle; returns that cycle, or an empty list when added. */
+    public List<T> addEdge(T from, T to, float weight) {
+        List<T> cycle = cycleIfAdded(from, to);
+        if (!cycle.isEmpty()) return cycle;
+        if (!ids.containsKey(from)) {
+            placeNextAtFront = true;        // a new tail goes first, so the new edge needs no reordering
+            g.addVertex(from);
+        }
+        g.addEdge(from, to, weight);
+        return List.of();
+    }
+
+    /** Vertices repositioned by the last insertion that needed reordering. */
+    public int lastAffected() {
+        return lastAffected;
+    }
+
+    @Override
+    public void vertexAdded(T value) {
+        int id = vertices.size();
+        ids.put(value, id);
+        vertices.add(g.findVertex(value).orElseThrow());
+        if (id == ord.length) {
+            int cap = Math.max(16, id * 2);
+            ord = Arrays.copyOf(ord, cap);
+            mark = Arrays.copyOf(mark, cap);
+            parent = Arrays.copyOf(parent, cap);
+        }
+        ord[id] = placeNextAtFront ? --front : back++;
+        placeNextAtFront = false;
+    }
+
+    @Override
+    public void edgeAdded(T from, T to, float weight) {
+        if (stale) return;
+        int x = ids.get(from), y = ids.get(to);
+        if (x == y || !insert(x, y).isEmpty()) stale = true;
+    }
+
+    @Override
+    public void vertexRemoved(T value) {
+        Integer id = ids.remove(value);
+        vertices.set(id, null);
+    }
+
+    /**
+     * Makes ord[x] < ord[y] hold, or returns the cycle y ~> x if it cannot. Forward DFS
+     * from y over vertices before x, backward DFS from x over vertices after y; then the
+     * backward set takes the lowest of the pooled positions, keeping each set's internal order.
+     */
+    private List<T> insert(int x, int y) {
+        int lb = ord[y], ub = ord[x];
+        if (lb > ub) return List.of();
+        if (tiedOnlyTo(x, y, true)) {           // e.g. a new tail: it can simply go first
+            ord[x] = --front;
+            lastAffected = 1;
+            return List.of();
+        }
+        if (tiedOnlyTo(y, x, false)) {
+            ord[y] = back++;
+            lastAffected = 1;
+            return List.of();
+        }
+        stamp++;
+        int[] forward = dfs(y, ub, true, x);
+        if (forward == null) {
+            LinkedList<T> cycle = new LinkedList<>();
+            for (int at = x; at != y; at = parent[at]) cycle.addFirst(vertices.get(at).getValue());
+            cycle.addFirst(vertices.get(y).getValue());
+            return cycle;
+        }
+        int[] backward = dfs(x, lb, false, -1);
+        sortByOrd(forward);
+        sortByOrd(backward);
+        int[] pool = new int[forward.length + backward.length];
+        for (int i = 0; i < backward.length; i++) pool[i] = ord[backward[i]];
+        for (int i = 0; i < forward.length; i++) pool[backward.length + i] = ord[forward[i]];
+        Arrays.sort(pool);
+        for (int i = 0; i < backward.length; i++) ord[backward[i]] = pool[i];
+        for (int i = 0; i < forward.length; i++) ord[forward[i]] = pool[backward.length + i];
+        lastAffected = pool.length;
+        return List.of();
+    }
+
+    /**
+     * Iterative DFS from start, entering only unmarked vertices positioned before bound
+     * (forward) or after it (backward). Returns the visited ids, or null if forward
+     * search reaches target.
+     */
+    private int[] dfs(int start, int bound, boolean forward, int target) {
+        int[] seen = new int[16];
+        int count = 0;
+        Deque<Vertex<T>> stack = new ArrayDeque<>();
+        mark[start] = stamp;
+        parent[start] = -1;
+        seen[count++] = start;
+        stack.push(vertices.get(start));
+        while (!stack.isEmpty()) {
+            Vertex<T> v = stack.pop();
+            int vi = ids.get(v.getValue());
+            for (Edge<T> e : forward ? g.outgoing(v) : g.incoming(v)) {
+                Vertex<T> w = forward ? e.getTo() : e.getFrom();
+                int wi = ids.get(w.getValue());
+                if (mark[wi] == stamp) continue;
+                if (forward ? ord[wi] > bound : ord[wi] < bound) continue;
+                if (forward) parent[wi] = vi;
+                if (wi == target) return null;
+                mark[wi] = stamp;
+                if (count == seen.length) seen = Arrays.copyOf(seen, count * 2);
+                seen[count++] = wi;
+                stack.push(w);
+            }
+        }
+        return Arrays.copyOf(seen, count);
+    }
+
+    /**
+     * True if v has no incoming arcs and all its outgoing ones lead to w (forward), or no
+     * outgoing arcs and all incoming ones come from w; then an edge v -> w (w -> v) is
+     * the only thing that constrains v's position.
+     */
+    private boolean tiedOnlyTo(int v, int w, boolean forward) {
+        Vertex<T> vv = vertices.get(v), wv = vertices.get(w);
+        if (!(forward ? g.incoming(vv) : g.outgoing(vv)).isEmpty()) return false;
+        for (Edge<T> e : forward ? g.outgoing(vv) : g.incoming(vv)) {
+            if (!(forward ? e.getTo() : e.getFrom()).equals(wv)) return false;
+        }
+        return true;
+    }
+
+    private void sortByOrd(int[] set) {
+        long[] keys = new long[set.length];
+        for (int i = 0; i < set.length; i++) keys[i] = (long) ord[set[i]] << 32 | set[i];
+        Arrays.sort(keys);
+        for (int i = 0; i < set.length; i++) set[i] = (int) keys[i];
+    }
+
+    private int id(T value) {
+        Integer id = ids.get(value);
+        if (id == null) throw new NoSuchElementException("Vertex not found: " + value);
+        return id;
+    }
+
+    private void fresh() {
+        if (stale) rebuild();
+    }
+
+    /** Positions from a full Kahn pass; O(V + E). */
+    private void rebuild() {
+        CsrGraph<T> csr = g.freeze();
+        int[] order = TopologicalSort.order(csr, null);
+        int n = csr.vertexCount();
+        int cap = Math.max(16, n);
+        ord = new int[cap];
+        mark = new int[cap];
+        parent = new int[cap];
+        ids.clear();
+        vertices = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            ids.put(csr.valueOf(v), v);
+            vertices.add(g.findVertex(csr.valueOf(v)).orElseThrow());
+        }
+        for (int i = 0; i < n; i++) ord[order[i]] = i;
+        front = 0;
+        back = n;
+        stamp = 0;
+        stale = false;
+    }
+}
@@ -0,0 +1,177 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.*;
+
+import java.util.*;
+
+/**
+ * Shortest-path tree from one source that stays current while the graph changes
+ * (non-negative edges). It listens to the graph: an added edge - or a cheaper parallel
+ * edge, which is how a weight decrease shows up - is repaired Ramalingam-Reps style,
+ * by a Dijkstra that starts at the improved endpoint and only visits vertices whose
+ * distance actually drops. Queries read the arrays directly.
+ *
+ * Removing an arc of the tree, a reachable vertex, or adding a negative edge marks
+ * the tree stale; it is then recomputed in full on the next query. Other removals
+ * cannot lengthen any shortest path and cost nothing.
+ */
+public final class IncrementalSssp<T> implements GraphListener<T>, AutoCloseable {
+
+    private final Graph<T> g;
+    private final T source;
+    private final Map<T, Integer> ids = new HashMap<>();
+    private List<Vertex<T>> vertices = new ArrayList<>();   // id -> vertex, null once removed
+    private float[] dist = new float[0];
+    private int[] parent = new int[0];
+    private IndexedDaryHeap heap;
+    private boolean stale = true;
+    private int lastRepaired;
+    private int recomputations;
+
+    public IncrementalSssp(Graph<T> g, T source) {
+        this.g = g;
+        this.source = source;
+        g.addListener(this);
+        recompute();
+    }
+
+    /** Stops listening; the tree is frozen as of now. */
+    @Override
+    public void close() {
+        g.removeListener(this);
+    }
+
+    public T source() {
+        return source;
+    }
+
+    /** Shortest distance from the source, +Infinity if unreachable or unknown. */
+    public float distance(T v) {
+        fresh();
+        Integer id = ids.get(v);
+        return id == null ? Float.POSITIVE_INFINITY : dist[id];
+    }
+
+    /** Vertices from the source to target, empty if unreachable. */
+    public List<T> pathTo(T target) {
+        fresh();
+        Integer id = ids.get(target);
+        if (id == null || Float.isInfinite(dist[id])) return List.of();
+        LinkedList<T> path = new LinkedList<>();
+        for (int at = id; at >= 0; at = parent[at]) path.addFirst(vertices.get(at).getValue());
+        return path;
+    }
+
+    /** Copy of the current tree in the shape Dijkstra.shortestPaths returns. */
+    public Dijkstra.Result<T> result() {
+        fresh();
+        Map<T, Float> d = new HashMap<>();
+        Map<T, T> p = new HashMap<>();
+        for (int v = 0; v < vertices.size(); v++) {
+            if (vertices.get(v) == null) continue;
+            T value = vertices.get(v).getValue();
+            d.put(value, dist[v]);
+            if (parent[v] >= 0) p.put(value, vertices.get(parent[v]).getValue());
+        }
+        return new Dijkstra.Result<>(d, p);
+    }
+
+    /** Vertices whose distance the last incremental repair lowered. */
+    public int lastRepaired() {
+        return lastRepaired;
+    }
+
+    /** Full recomputations so far, including the initial one. */
+    public int recomputations() {
+        return recomputations;
+    }
+
+    @Override
+    public void vertexAdded(T value) {
+        if (stale) return;
+        int id = vertices.size();
+        ids.put(value, id);
+        vertices.add(g.findVertex(value).orElseThrow());
+        if (id == dist.length) {
+            int cap = Math.max(16, id * 2);
+            dist = Arrays.copyOf(dist, cap);
+            parent = Arrays.copyOf(parent, cap);
+            heap = new IndexedDaryHeap(cap, DijkstraEngine.DEFAULT_ARITY);
+        }
+        dist[id] = value.equals(source) ? 0f : Float.POSITIVE_INFINITY;
+        parent[id] = -1;
+    }
+
+    @Override
+    public void edgeAdded(T from, T to, float weight) {
+        if (stale) return;
+        if (weight < 0) {
+            stale = true;
+            return;
+        }
+        int u = ids.get(from), v = ids.get(to);
+        lastRepaired = 0;
+        lower(v, dist[u] + weight, u);
+        if (!g.isDirected()) lower(u, dist[v] + weight, v);
+        while (!heap.isEmpty()) {
+            int x = heap.pollMin();
+            for (Edge<T> e : g.outgoing(vertices.get(x))) {
+                lower(ids.get(e.getTo().getValue()), dist[x] + e.getWeight(), x);
+            }
+        }
+    }
+
+    @Override
+    public void vertexRemoved(T value) {
+        if (stale) return;
+        Integer id = ids.remove(value);
+        if (Float.isFinite(dist[id])) stale = true;
+        else vertices.set(id, null);
+    }
+
+    @Override
+    public void edgeRemoved(T from, T to) {
+        if (stale) return;
+        int u = ids.get(from), v = ids.get(to);
+        if (parent[v] == u || (!g.isDirected() && parent[u] == v)) stale = true;
+    }
+
+    private void lower(int v, float d, int p) {
+        if (d < dist[v]) {
+            dist[v] = d;
+            parent[v] = p;
+            heap.offer(v, d);
+            lastRepaired++;
+        }
+    }
+
+    private void fresh() {
+        if (stale) recompute();
+    }
+
+    private void recompute() {
+        CsrGraph<T> csr = g.freeze();
+        int n = csr.vertexCount();
+        int cap = Math.max(16, n);
+        dist = new float[cap];
+        parent = new int[cap];
+        Arrays.fill(dist, Float.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        heap = new IndexedDaryHeap(cap, DijkstraEngine.DEFAULT_ARITY);
+        ids.clear();
+        vertices = new ArrayList<>(n);
+        for (int v = 0; v < n; v++) {
+            ids.put(csr.valueOf(v), v);
+            vertices.add(g.findVertex(csr.valueOf(v)).orElseThrow());
+        }
+        int s = csr.idOf(source);
+        if (s >= 0) {
+            DijkstraEngine engine = new DijkstraEngine(csr);
+            engine.run(s);
+            System.arraycopy(engine.dist, 0, dist, 0, n);
+            System.arraycopy(engine.parent, 0, parent, 0, n);
+        }
+        stale = false;
+        recomputations++;
+    }
+}
@@ -0,0 +1,130 @@
+package com.breno.graph.algorithms;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Min-heap of int ids in [0, capacity) keyed by float, with true decrease-key.
+ * A position table maps each id to its heap slot, so an id is never queued twice
+ * and no operation allocates.
+ */
+final class IndexedDaryHeap {
+    private final int arity;
+    private final int[] heap;   // slot -> id
+    private final int[] pos;    // id -> slot, -1 when not queued
+    private final float[] key;  // id -> key (valid while queued)
+    private int size;
+
+    IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("arity must be >= 2");
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.key = new float[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    float keyOf(int id) {
+        return key[id];
+    }
+
+    /**
+     * Inserts id, or lowers its key if it is already queued with a larger one.
+     * Returns false if the id was queued with a key that is not larger.
+     */
+    boolean offer(int id, float k) {
+        int slot = pos[id];
+        if (slot < 0) {
+            slot = size++;
+            heap[slot] = id;
+            pos[id] = slot;
+        } else if (k >= key[id]) {
+            return false;
+        }
+        key[id] = k;
+        siftUp(slot);
+        return true;
+    }
+
+    int peekMin() {
+        if (size == 0) throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    float minKey() {
+        if (size == 0) throw new NoSuchElementException();
+        return key[heap[0]];
+    }
+
+    int pollMin() {
+        if (size == 0) throw new NoSuchElementException();
+        int min = heap[0];
+        pos[min] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    /** Empties the heap in O(size), leaving it ready for reuse. */
+    void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        float k = key[id];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) / arity;
+            int p = heap[parentSlot];
+            if (key[p] <= k) break;
+            heap[slot] = p;
+            pos[p] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = id;
+        pos[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        float k = key[id];
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) break;
+            int last = Math.min(first + arity, size);
+            int best = first;
+            float bestKey = key[heap[first]];
+            for (int c = first + 1; c < last; c++) {
+                float ck = key[heap[c]];
+                if (ck < bestKey) {
+                    best = c;
+                    bestKey = ck;
+                }
+            }
+            if (bestKey >= k) break;
+            int child = heap[best];
+            heap[slot] = child;
+            pos[child] = slot;
+            slot = best;
+        }
+        heap[slot] = id;
+        pos[id] = slot;
+    }
+}
@@ -0,0 +1,49 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.metrics.MetricsListener;
+import com.breno.graph.metrics.RunMetrics;
+import jdk.jfr.*;
+
+/**
+ * Sink that turns each run into a JFR event ("com.breno.graph.AlgorithmRun"). Events
+ * cost only an isEnabled check unless a recording has the event enabled, e.g.
+ * java -XX:StartFlightRecording:filename=run.jfr ..., then jfr print --events AlgorithmRun run.jfr.
+ */
+public final class JfrMetricsListener implements MetricsListener {
+
+    @Name("com.breno.graph.AlgorithmRun")
+    @Label("Graph Algorithm Run")
+    @Category("Graph")
+    @StackTrace(false)
+    static final class AlgorithmRunEvent extends Event {
+        @Label("Algorithm") String algorithm;
+        @Label("Source") String source;
+        @Label("Run Time") @Timespan(Timespan.NANOSECONDS) long runTime;
+        @Label("Allocated") @DataAmount long allocated;
+        @Label("Vertices Settled") int verticesSettled;
+        @Label("Edges Relaxed") long edgesRelaxed;
+        @Label("Heap Pushes") int heapPushes;
+        @Label("Decrease Keys") int decreaseKeys;
+        @Label("Stale Pops") int stalePops;
+        @Label("BFS Levels") int levels;
+        @Label("Largest Frontier") int largestFrontier;
+    }
+
+    @Override
+    public void onRun(RunMetrics m) {
+        AlgorithmRunEvent e = new AlgorithmRunEvent();
+        if (!e.isEnabled()) return;
+        e.algorithm = m.algorithm;
+        e.source = String.valueOf(m.source);
+        e.runTime = m.wallNanos;
+        e.allocated = m.allocatedBytes;
+        e.verticesSettled = m.verticesSettled;
+        e.edgesRelaxed = m.edgesRelaxed;
+        e.heapPushes = m.heapPushes;
+        e.decreaseKeys = m.decreaseKeys;
+        e.stalePops = m.stalePops;
+        e.levels = m.frontierSizes.length;
+        for (int f : m.frontierSizes) e.largestFrontier = Math.max(e.largestFrontier, f);
+        e.commit();
+    }
+}
@@ -0,0 +1,131 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+
+import java.util.*;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * ALT preprocessing: exact distances from and to a few landmark vertices.
+ * For any landmark L the triangle inequality gives
+ *   d(v, t) >= d(L, t) - d(L, v)   and   d(v, t) >= d(v, L) - d(t, L),
+ * and the largest of these bounds is an admissible, consistent A* heuristic.
+ * Tables are indexed by the ids of the CSR snapshot they were computed on.
+ */
+public final class Landmarks<T> implements ToDoubleBiFunction<T, T> {
+    private final CsrGraph<T> g;
+    private final List<T> landmarks;
+    private final float[][] from;   // from[i][v] = d(landmark i, v)
+    private final float[][] to;     // to[i][v]   = d(v, landmark i)
+
+    public Landmarks(CsrGraph<T> g, List<T> landmarks, float[][] from, float[][] to) {
+        if (from.length != landmarks.size() || to.length != landmarks.size()) {
+            throw new IllegalArgumentException("Expected one table row per landmark");
+        }
+        this.g = g;
+        this.landmarks = List.copyOf(landmarks);
+        this.from = from;
+        this.to = to;
+    }
+
+    /** Computes the tables for the given landmarks with one forward and one backward Dijkstra each. */
+    public static <T> Landmarks<T> compute(Graph<T> graph, List<T> landmarks) {
+        CsrGraph<T> g = graph.freeze();
+        DijkstraEngine forward = new DijkstraEngine(g);
+        DijkstraEngine backward = g.isDirected() ? new DijkstraEngine(g.transpose()) : forward;
+        float[][] from = new float[landmarks.size()][];
+        float[][] to = new float[landmarks.size()][];
+        for (int i = 0; i < landmarks.size(); i++) {
+            int l = g.idOf(landmarks.get(i));
+            if (l < 0) throw new IllegalArgumentException("Landmark is not a vertex: " + landmarks.get(i));
+            forward.run(l);
+            from[i] = forward.dist.clone();
+            if (g.isDirected()) {
+                backward.run(l);
+                to[i] = backward.dist.clone();
+            } else {
+                to[i] = from[i];
+            }
+        }
+        return new Landmarks<>(g, landmarks, from, to);
+    }
+
+    /**
+     * Picks up to k landmarks by farthest selection: the first is the vertex farthest from
+     * seed, each next one the vertex farthest from all landmarks chosen so far.
+     */
+    public static <T> Landmarks<T> select(Graph<T> graph, T seed, int k) {
+        CsrGraph<T> g = graph.freeze();
+        int s = g.idOf(seed);
+        if (s < 0) throw new IllegalArgumentException("Seed is not a vertex: " + seed);
+        DijkstraEngine engine = new DijkstraEngine(g);
+        float[] nearest = new float[g.vertexCount()];
+        Arrays.fill(nearest, Float.POSITIVE_INFINITY);
+
+        List<T> chosen = new ArrayList<>();
+        engine.run(s);
+        int next = farthest(engine.dist);
+        while (chosen.size() < k && next >= 0) {
+            chosen.add(g.valueOf(next));
+            engine.run(next);
+            for (int v = 0; v < nearest.length; v++) nearest[v] = Math.min(nearest[v], engine.dist[v]);
+            nearest[next] = 0f;
+            next = farthest(nearest);
+        }
+        return compute(graph, chosen);
+    }
+
+    /** Vertex with the largest finite, non-zero key, or -1 if there is none. */
+    private static int farthest(float[] key) {
+        int best = -1;
+        for (int v = 0; v < key.length; v++) {
+            if (key[v] == 0f || key[v] == Float.POSITIVE_INFINITY) continue;
+            if (best < 0 || key[v] > key[best]) best = v;
+        }
+        return best;
+    }
+
+    public CsrGraph<T> graph() {
+        return g;
+    }
+
+    public List<T> landmarks() {
+        return landmarks;
+    }
+
+    /** d(landmark i, v), +Infinity if unreachable. */
+    public float fromLandmark(int i, T v) {
+        int id = g.idOf(v);
+        return id < 0 ? Float.POSITIVE_INFINITY : from[i][id];
+    }
+
+    /** d(v, landmark i), +Infinity if unreachable. */
+    public float toLandmark(int i, T v) {
+        int id = g.idOf(v);
+        return id < 0 ? Float.POSITIVE_INFINITY : to[i][id];
+    }
+
+    /** Lower bound on d(v, t) for snapshot ids; terms with an unreachable side are skipped. */
+    float lowerBound(int v, int t) {
+        float best = 0f;
+        for (int i = 0; i < from.length; i++) {
+            float[] f = from[i];
+            float[] b = to[i];
+            if (f[t] != Float.POSITIVE_INFINITY && f[v] != Float.POSITIVE_INFINITY) {
+                best = Math.max(best, f[t] - f[v]);
+            }
+            if (b[v] != Float.POSITIVE_INFINITY && b[t] != Float.POSITIVE_INFINITY) {
+                best = Math.max(best, b[v] - b[t]);
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public double applyAsDouble(T v, T target) {
+        int a = g.idOf(v);
+        int b = g.idOf(target);
+        return a < 0 || b < 0 ? 0.0 : lowerBound(a, b);
+    }
+}
@@ -0,0 +1,288 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Edge;
+import com.breno.graph.Graph;
+import com.breno.graph.Vertex;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimum spanning tree of an undirected graph: Kruskal, Prim and a parallel Borůvka.
+ * On a disconnected graph each returns a minimum spanning forest, one tree per
+ * component. Self-loops are ignored; of parallel edges only the lightest can be used.
+ * Prim reads the CSR arcs in place; Kruskal and Borůvka first copy each edge once,
+ * and Borůvka spreads its O(E) rounds over a fork-join pool.
+ */
+public final class MinimumSpanningTree {
+    private MinimumSpanningTree() {}
+
+    private static final long NONE = Long.MAX_VALUE;
+
+    public static final class Result<T> {
+        public final CsrGraph<T> graph;
+        /** Tree edge i joins vertex ids from[i] and to[i] with weight[i]. */
+        public final int[] from;
+        public final int[] to;
+        public final float[] weight;
+        public final double totalWeight;
+
+        Result(CsrGraph<T> graph, int[] from, int[] to, float[] weight, int count) {
+            this.graph = graph;
+            this.from = Arrays.copyOf(from, count);
+            this.to = Arrays.copyOf(to, count);
+            this.weight = Arrays.copyOf(weight, count);
+            double total = 0;
+            for (int i = 0; i < count; i++) total += weight[i];
+            this.totalWeight = total;
+        }
+
+        public int edgeCount() {
+            return from.length;
+        }
+
+        /** The tree edges as Edge objects, in the order the algorithm chose them. */
+        public List<Edge<T>> edges() {
+            List<Edge<T>> out = new ArrayList<>(from.length);
+            for (int i = 0; i < from.length; i++) {
+                out.add(new Edge<>(new Vertex<>(graph.valueOf(from[i])), new Vertex<>(graph.valueOf(to[i])), weight[i]));
+            }
+            return out;
+        }
+    }
+
+    public static <T> Result<T> kruskal(Graph<T> g) {
+        requireUndirected(g.isDirected());
+        return kruskal(g.freeze());
+    }
+
+    /** Sorts the edges once as packed (weight, index) longs, then joins them through a union-find. O(E log E). */
+    public static <T> Result<T> kruskal(CsrGraph<T> g) {
+        requireUndirected(g.isDirected());
+        int n = g.vertexCount();
+        EdgeList e = new EdgeList(g);
+        long[] keys = new long[e.count];
+        for (int i = 0; i < e.count; i++) keys[i] = key(e.w[i], i);
+        Arrays.sort(keys);
+        UnionFind sets = new UnionFind(n);
+        Tree tree = new Tree(n);
+        for (int k = 0; k < keys.length && tree.count < n - 1; k++) {
+            int i = (int) keys[k];
+            if (sets.union(e.u[i], e.v[i])) tree.add(e.u[i], e.v[i], e.w[i]);
+        }
+        return tree.result(g);
+    }
+
+    public static <T> Result<T> prim(Graph<T> g) {
+        requireUndirected(g.isDirected());
+        return prim(g.freeze());
+    }
+
+    /** Grows one tree per component from its lowest id, with the indexed heap keyed by the cheapest arc into the tree. O(E log V). */
+    public static <T> Result<T> prim(CsrGraph<T> g) {
+        requireUndirected(g.isDirected());
+        int n = g.vertexCount();
+        IndexedDaryHeap heap = new IndexedDaryHeap(n, DijkstraEngine.DEFAULT_ARITY);
+        boolean[] inTree = new boolean[n];
+        int[] via = new int[n];          // tree end of the cheapest arc into v, -1 for a component root
+        Tree tree = new Tree(n);
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) continue;
+            via[root] = -1;
+            heap.offer(root, 0f);
+            while (!heap.isEmpty()) {
+                float w = heap.minKey();
+                int v = heap.pollMin();
+                inTree[v] = true;
+                if (via[v] >= 0) tree.add(via[v], v, w);
+                for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                    int t = g.arcTarget(a);
+                    if (!inTree[t] && heap.offer(t, g.arcWeight(a))) via[t] = v;
+                }
+            }
+        }
+        return tree.result(g);
+    }
+
+    public static <T> Result<T> boruvka(Graph<T> g) {
+        requireUndirected(g.isDirected());
+        return boruvka(g.freeze(), ForkJoinPool.commonPool());
+    }
+
+    public static <T> Result<T> boruvka(CsrGraph<T> g) {
+        return boruvka(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Rounds of: every component picks its cheapest outgoing edge, then all picks are joined.
+     * The scan is parallel, with an atomic min per component over packed (weight, index) keys,
+     * so ties break the same way from both sides and the picks never close a cycle. Each round
+     * at least halves the components that still have outgoing edges and drops the edges that
+     * became internal. O(E log V) work.
+     */
+    public static <T> Result<T> boruvka(CsrGraph<T> g, ForkJoinPool pool) {
+        requireUndirected(g.isDirected());
+        int n = g.vertexCount();
+        EdgeList e = new EdgeList(g);
+        int[] comp = new int[n];         // component label per vertex, a union-find root
+        for (int v = 0; v < n; v++) comp[v] = v;
+        long[] none = new long[n];
+        Arrays.fill(none, NONE);
+        AtomicLongArray best = new AtomicLongArray(none);
+        UnionFind sets = new UnionFind(n);
+        Tree tree = new Tree(n);
+        int[] live = new int[e.count];
+        for (int i = 0; i < e.count; i++) live[i] = i;
+        int[] reps = new int[n];         // components that may still have outgoing edges
+        for (int v = 0; v < n; v++) reps[v] = v;
+
+        while (live.length > 0) {
+            int[] edges = live;
+            live = ParallelChunks.concat(ParallelChunks.run(pool, edges.length, (from, to, out) -> {
+                for (int k = from; k < to; k++) {
+                    int i = edges[k];
+                    int cu = comp[e.u[i]], cv = comp[e.v[i]];
+                    if (cu == cv) continue;
+                    out.add(i);
+                    long key = key(e.w[i], i);
+                    lower(best, cu, key);
+                    lower(best, cv, key);
+                }
+            }));
+            if (live.length == 0) break;
+            int kept = 0;
+            for (int c : reps) {
+                long key = best.get(c);
+                if (key == NONE) continue;      // no outgoing edge now, so never again
+                best.set(c, NONE);
+                int i = (int) key;
+                if (sets.union(e.u[i], e.v[i])) tree.add(e.u[i], e.v[i], e.w[i]);
+                reps[kept++] = c;
+            }
+            int count = 0;
+            for (int k = 0; k < kept; k++) {
+                if (sets.find(reps[k]) == reps[k]) reps[count++] = reps[k];
+            }
+            reps = Arrays.copyOf(reps, count);
+            ParallelChunks.run(pool, n, (from, to, out) -> {
+                for (int v = from; v < to; v++) comp[v] = sets.root(comp[v]);
+            });
+        }
+        return tree.result(g);
+    }
+
+    private static void lower(AtomicLongArray best, int c, long key) {
+        long cur = best.get(c);
+        while (key < cur && !best.compareAndSet(c, cur, key)) cur = best.get(c);
+    }
+
+    /** Weight in the high half, mapped so signed long order matches float order; edge index in the low half. */
+    private static long key(float w, int index) {
+        int bits = Float.floatToRawIntBits(w);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return (long) bits << 32 | index;
+    }
+
+    private static void requireUndirected(boolean directed) {
+        if (directed) throw new IllegalArgumentException("Minimum spanning tree requires an undirected graph.");
+    }
+
+    /** Each undirected edge once (the arc with from < to), self-loops dropped. */
+    private static final class EdgeList {
+        final int[] u;
+        final int[] v;
+        final float[] w;
+        final int count;
+
+        EdgeList(CsrGraph<?> g) {
+            int c = 0;
+            for (int x = 0; x < g.vertexCount(); x++) {
+                for (int a = g.arcStart(x), end = g.arcEnd(x); a < end; a++) {
+                    if (x < g.arcTarget(a)) c++;
+                }
+            }
+            u = new int[c];
+            v = new int[c];
+            w = new float[c];
+            count = c;
+            int i = 0;
+            for (int x = 0; x < g.vertexCount(); x++) {
+                for (int a = g.arcStart(x), end = g.arcEnd(x); a < end; a++) {
+                    int y = g.arcTarget(a);
+                    if (x < y) {
+                        u[i] = x;
+                        v[i] = y;
+                        w[i++] = g.arcWeight(a);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Disjoint sets over int ids: union by rank, path halving on find. */
+    private static final class UnionFind {
+        private final int[] parent;
+        private final byte[] rank;
+
+        UnionFind(int n) {
+            parent = new int[n];
+            rank = new byte[n];
+            for (int i = 0; i < n; i++) parent[i] = i;
+        }
+
+        int find(int x) {
+            while (parent[x] != x) {
+                parent[x] = parent[parent[x]];
+                x = parent[x];
+            }
+            return x;
+        }
+
+        /** Root without compressing; safe to call from several threads while nothing unions. */
+        int root(int x) {
+            while (parent[x] != x) x = parent[x];
+            return x;
+        }
+
+        boolean union(int a, int b) {
+            a = find(a);
+            b = find(b);
+            if (a == b) return false;
+            if (rank[a] < rank[b]) {
+                int t = a;
+                a = b;
+                b = t;
+            }
+            parent[b] = a;
+            if (rank[a] == rank[b]) rank[a]++;
+            return true;
+        }
+    }
+
+    /** Tree edges collected so far; at most n - 1. */
+    private static final class Tree {
+        final int[] from;
+        final int[] to;
+        final float[] weight;
+        int count;
+
+        Tree(int n) {
+            int cap = Math.max(0, n - 1);
+            from = new int[cap];
+            to = new int[cap];
+            weight = new float[cap];
+        }
+
+        void add(int u, int v, float w) {
+            from[count] = u;
+            to[count] = v;
+            weight[count++] = w;
+        }
+
+        <T> Result<T> result(CsrGraph<T> g) {
+            return new Result<>(g, from, to, weight, count);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.metrics.Metrics;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Level-synchronous parallel BFS on a CSR snapshot (direction-optimizing, after Beamer et al.).
+ * Each level is expanded in parallel chunks on the given fork-join pool, and visited
+ * vertices are claimed in an atomic bitset. A level is expanded top-down (scan the
+ * frontier's out-arcs) while the frontier is small, and bottom-up (every unvisited
+ * vertex looks for a parent among its in-arcs) once the frontier's arcs outweigh
+ * the arcs still unexplored.
+ */
+public final class ParallelBfs {
+    private ParallelBfs() {}
+
+    /** Switch to bottom-up when frontier arcs exceed unexplored arcs / ALPHA. */
+    private static final int ALPHA = 14;
+    /** Switch back to top-down when the frontier drops below n / BETA vertices. */
+    private static final int BETA = 24;
+
+    public static <T> int[] depths(CsrGraph<T> g, T start) {
+        return depths(g, start, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * BFS depth of every vertex id from start, -1 where unreachable (all -1 if start is absent).
+     * Metrics count the out-arcs of each frontier, also for levels expanded bottom-up.
+     */
+    public static <T> int[] depths(CsrGraph<T> g, T start, ForkJoinPool pool) {
+        int n = g.vertexCount();
+        int[] depth = new int[n];
+        Arrays.fill(depth, -1);
+        int s = g.idOf(start);
+        if (s < 0) return depth;
+
+        Metrics.Probe probe = Metrics.start("parallel-bfs", start);
+        ParallelChunks.IntBuffer levels = new ParallelChunks.IntBuffer();
+        int reached = 0;
+        long scanned = 0;
+        CsrGraph<T> in = g.transpose();
+        AtomicLongArray visited = new AtomicLongArray((n + 63) >>> 6);
+        depth[s] = 0;
+        claim(visited, s);
+        int[] frontier = {s};
+        long unexploredArcs = (long) g.arcCount() - g.outDegree(s);
+        boolean bottomUp = false;
+
+        for (int d = 0; frontier.length > 0; d++) {
+            long frontierArcs = 0;
+            for (int v : frontier) frontierArcs += g.outDegree(v);
+            levels.add(frontier.length);
+            reached += frontier.length;
+            scanned += frontierArcs;
+            if (!bottomUp && frontierArcs > unexploredArcs / ALPHA) bottomUp = true;
+            else if (bottomUp && frontier.length < n / BETA) bottomUp = false;
+
+            frontier = bottomUp
+                    ? bottomUpStep(in, d, depth, visited, pool)
+                    : topDownStep(g, frontier, d, depth, visited, pool);
+            for (int v : frontier) unexploredArcs -= g.outDegree(v);
+        }
+        if (probe != null) probe.finish(reached, scanned, 0, 0, 0, levels.toArray());
+        return depth;
+    }
+
+    public static <T> List<T> bfs(CsrGraph<T> g, T start) {
+        return bfs(g, start, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same list as Graph.bfs / CsrGraph.bfs. Within a level the sequential order is the
+     * order of first discovery, i.e. by (position of the parent in its level, arc index);
+     * each level is rebuilt by a parallel atomic-min over that key and a sort.
+     */
+    public static <T> List<T> bfs(CsrGraph<T> g, T start, ForkJoinPool pool) {
+        int s = g.idOf(start);
+        if (s < 0) return List.of();
+        int[] depth = depths(g, start, pool);
+
+        AtomicLongArray firstSeen = new AtomicLongArray(g.vertexCount());
+        List<T> order = new ArrayList<>();
+        int[] level = {s};
+        for (int d = 0; level.length > 0; d++) {
+            for (int v : level) order.add(g.valueOf(v));
+            int[] cur = level;
+            int next = d + 1;
+            int[][] parts = ParallelChunks.run(pool, cur.length, (from, to, out) -> {
+                for (int p = from; p < to; p++) {
+                    int u = cur[p];
+                    int base = g.arcStart(u);
+                    for (int a = base, end = g.arcEnd(u); a < end; a++) {
+                        int v = g.arcTarget(a);
+                        if (depth[v] != next) continue;
+                        long key = ((long) (p + 1) << 32) | (a - base);
+                        long old = firstSeen.get(v);
+                        while ((old == 0 || key < old) && !firstSeen.compareAndSet(v, old, key)) {
+                            old = firstSeen.get(v);
+                        }
+                        if (old == 0) out.add(v);
+                    }
+                }
+            });
+            int[] found = ParallelChunks.concat(parts);
+            long[] keys = new long[found.length];
+            for (int i = 0; i < found.length; i++) keys[i] = firstSeen.get(found[i]);
+            pool.submit(() -> Arrays.parallelSort(keys)).join();
+            level = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                int parent = cur[(int) (keys[i] >>> 32) - 1];
+                level[i] = g.arcTarget(g.arcStart(parent) + (int) keys[i]);
+            }
+        }
+        return order;
+    }
+
+    private static int[] topDownStep(CsrGraph<?> g, int[] frontier, int d, int[] depth,
+                                     AtomicLongArray visited, ForkJoinPool pool) {
+        return ParallelChunks.concat(ParallelChunks.run(pool, frontier.length, (from, to, out) -> {
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int a = g.arcStart(u), end = g.arcEnd(u); a < end; a++) {
+                    int v = g.arcTarget(a);
+                    if (claim(visited, v)) {
+                        depth[v] = d + 1;
+                        out.add(v);
+                    }
+                }
+            }
+        }));
+    }
+
+    /** in is the transpose, so its arcs of v lead to v's parents in the original graph. */
+    private static int[] bottomUpStep(CsrGraph<?> in, int d, int[] depth,
+                                      AtomicLongArray visited, ForkJoinPool pool) {
+        return ParallelChunks.concat(ParallelChunks.run(pool, in.vertexCount(), (from, to, out) -> {
+            for (int v = from; v < to; v++) {
+                if (isSet(visited, v)) continue;
+                for (int a = in.arcStart(v), end = in.arcEnd(v); a < end; a++) {
+                    if (depth[in.arcTarget(a)] == d) {
+                        depth[v] = d + 1;
+                        claim(visited, v);
+                        out.add(v);
+                        break;
+                    }
+                }
+            }
+        }));
+    }
+
+    private static boolean isSet(AtomicLongArray bits, int v) {
+        return (bits.get(v >>> 6) & (1L << v)) != 0;
+    }
+
+    /** Atomically sets bit v; true if this call set it. */
+    private static boolean claim(AtomicLongArray bits, int v) {
+        int w = v >>> 6;
+        long mask = 1L << v;
+        long old = bits.get(w);
+        while ((old & mask) == 0) {
+            if (bits.compareAndSet(w, old, old | mask)) return true;
+            old = bits.get(w);
+        }
+        return false;
+    }
+}
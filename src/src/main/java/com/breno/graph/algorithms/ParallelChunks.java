@@ -0,0 +1,60 @@
+package com.breno.graph.algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/** Fixed-size chunking of an index range over a fork-join pool, with per-chunk int output. */
+final class ParallelChunks {
+    private ParallelChunks() {}
+
+    static final int CHUNK = 2048;
+
+    @FunctionalInterface
+    interface Work {
+        void run(int from, int to, IntBuffer out);
+    }
+
+    /** Runs work over [0, size) in CHUNK-sized pieces on pool; returns each piece's output in order. */
+    static int[][] run(ForkJoinPool pool, int size, Work work) {
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        int[][] parts = new int[chunks][];
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+            IntBuffer out = new IntBuffer();
+            work.run(c * CHUNK, Math.min(size, (c + 1) * CHUNK), out);
+            parts[c] = out.toArray();
+        })).join();
+        return parts;
+    }
+
+    static int[] concat(int[][] parts) {
+        int total = 0;
+        for (int[] p : parts) total += p.length;
+        int[] all = new int[total];
+        int at = 0;
+        for (int[] p : parts) {
+            System.arraycopy(p, 0, all, at, p.length);
+            at += p.length;
+        }
+        return all;
+    }
+
+    /** Growable int list local to one chunk. */
+    static final class IntBuffer {
+        private int[] data = new int[64];
+        private int size;
+
+        void add(int x) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = x;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
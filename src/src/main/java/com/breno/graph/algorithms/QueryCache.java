@@ -0,0 +1,229 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+
+import java.util.*;
+
+/**
+ * Bounded cache of whole-graph query results for one Graph (not thread-safe, like Graph).
+ *
+ * Entries are keyed by (algorithm, source, graph version) and hold primitive arrays:
+ * a shortest-path tree is float[] dist + int[] parent, a BFS is the int[] visit order,
+ * all in ids of one CSR snapshot that is shared by every entry of the same version.
+ * When Graph.version() moves, every entry is dropped on the next call.
+ *
+ * Capacity is in estimated bytes. Eviction follows W-TinyLFU: new entries enter a small
+ * LRU window; what falls out of the window only replaces the main LRU's victim if a
+ * count-min sketch says it has been asked for more often, so a burst of one-off
+ * sources cannot flush the entries that keep getting hit.
+ */
+public final class QueryCache<T> {
+
+    private enum Algorithm { SHORTEST_PATHS, BFS }
+
+    private record Key(Algorithm algorithm, Object source, long version) {}
+
+    private record Entry(Object value, long weight) {}
+
+    private record Tree(float[] dist, int[] parent) {}
+
+    /** Fixed per-entry overhead in the size estimate. */
+    static final long ENTRY_OVERHEAD = 96;
+
+    private final Graph<T> g;
+    private final long maxBytes;
+    private final long windowBytes;
+    private final LinkedHashMap<Key, Entry> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Key, Entry> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch = new FrequencySketch(1024);
+    private long windowSize;
+    private long mainSize;
+    private long version = -1;
+    private CsrGraph<T> snapshot;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public QueryCache(Graph<T> g, long maxBytes) {
+        if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be positive");
+        this.g = g;
+        this.maxBytes = maxBytes;
+        this.windowBytes = Math.max(1, maxBytes / 10);
+    }
+
+    /** Same answer as Dijkstra.shortestPaths(g, source); the maps are read-only views. */
+    public Dijkstra.Result<T> shortestPaths(T source) {
+        Key key = key(Algorithm.SHORTEST_PATHS, source);
+        Entry e = lookup(key);
+        if (e == null) {
+            DijkstraEngine engine = new DijkstraEngine(snapshot);
+            engine.run(snapshot.idOf(source));
+            e = new Entry(new Tree(engine.dist, engine.parent), ENTRY_OVERHEAD + 8L * engine.dist.length);
+            store(key, e);
+        }
+        Tree tree = (Tree) e.value();
+        return new Dijkstra.Result<>(snapshot, tree.dist(), tree.parent());
+    }
+
+    /** Same answer as g.bfs(start), as an unmodifiable list. */
+    public List<T> bfs(T start) {
+        Key key = key(Algorithm.BFS, start);
+        Entry e = lookup(key);
+        if (e == null) {
+            int[] order = bfsOrder(snapshot, snapshot.idOf(start));
+            e = new Entry(order, ENTRY_OVERHEAD + 4L * order.length);
+            store(key, e);
+        }
+        int[] order = (int[]) e.value();
+        CsrGraph<T> csr = snapshot;
+        return new AbstractList<>() {
+            @Override public T get(int i) { return csr.valueOf(order[i]); }
+            @Override public int size() { return order.length; }
+        };
+    }
+
+    public long hits() { return hits; }
+    public long misses() { return misses; }
+    /** Entries dropped or refused for lack of space. */
+    public long evictions() { return evictions; }
+    /** Entries dropped because the graph changed. */
+    public long invalidations() { return invalidations; }
+    public int size() { return window.size() + main.size(); }
+    /** Estimated bytes held, excluding the shared CSR snapshot. */
+    public long weightedSize() { return windowSize + mainSize; }
+
+    public void clear() {
+        invalidations += size();
+        window.clear();
+        main.clear();
+        windowSize = mainSize = 0;
+    }
+
+    private Key key(Algorithm algorithm, T source) {
+        if (g.version() != version) {
+            clear();
+            version = g.version();
+            snapshot = g.freeze();
+        }
+        return new Key(algorithm, source, version);
+    }
+
+    private Entry lookup(Key key) {
+        sketch.increment(key);
+        Entry e = window.get(key);
+        if (e == null) e = main.get(key);
+        if (e != null) hits++;
+        else misses++;
+        return e;
+    }
+
+    private void store(Key key, Entry e) {
+        if (e.weight() > maxBytes - windowBytes) {
+            evictions++;       // would displace everything; not worth caching
+            return;
+        }
+        window.put(key, e);
+        windowSize += e.weight();
+        while (windowSize > windowBytes) {
+            Map.Entry<Key, Entry> eldest = window.entrySet().iterator().next();
+            window.remove(eldest.getKey());
+            windowSize -= eldest.getValue().weight();
+            admit(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Moves a window evictee into main if the frequency filter prefers it over every main LRU
+     * victim it would displace. The decision comes first: victims are only removed once the
+     * candidate is sure to take their place, so a rejected candidate leaves main untouched.
+     */
+    private void admit(Key key, Entry e) {
+        long mainCap = maxBytes - windowBytes;
+        int freq = sketch.frequency(key);
+        long freed = 0;
+        int victims = 0;
+        for (Iterator<Map.Entry<Key, Entry>> it = main.entrySet().iterator();
+             mainSize - freed + e.weight() > mainCap; victims++) {
+            Map.Entry<Key, Entry> victim = it.next();
+            if (sketch.frequency(victim.getKey()) >= freq) {
+                evictions++;       // the candidate is refused
+                return;
+            }
+            freed += victim.getValue().weight();
+        }
+        for (Iterator<Entry> it = main.values().iterator(); victims > 0; victims--) {
+            it.next();
+            it.remove();
+            evictions++;
+        }
+        mainSize -= freed;
+        main.put(key, e);
+        mainSize += e.weight();
+    }
+
+    private static int[] bfsOrder(CsrGraph<?> g, int s) {
+        if (s < 0) return new int[0];
+        boolean[] seen = new boolean[g.vertexCount()];
+        int[] queue = new int[g.vertexCount()];
+        int head = 0, tail = 0;
+        seen[s] = true;
+        queue[tail++] = s;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int a = g.arcStart(u), end = g.arcEnd(u); a < end; a++) {
+                int v = g.arcTarget(a);
+                if (!seen[v]) {
+                    seen[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Count-min sketch with four rows of saturating counters (max 15). All counters are
+     * halved after 10 * width increments, so old popularity fades.
+     */
+    static final class FrequencySketch {
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+        private final byte[][] rows;
+        private final int mask;
+        private int additions;
+
+        FrequencySketch(int width) {
+            int w = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+            rows = new byte[SEEDS.length][w];
+            mask = w - 1;
+        }
+
+        void increment(Object key) {
+            int h = key.hashCode();
+            for (int r = 0; r < rows.length; r++) {
+                int i = index(h, r);
+                if (rows[r][i] < 15) rows[r][i]++;
+            }
+            if (++additions >= 10 * (mask + 1)) {
+                for (byte[] row : rows) {
+                    for (int i = 0; i < row.length; i++) row[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(Object key) {
+            int h = key.hashCode();
+            int min = 15;
+            for (int r = 0; r < rows.length; r++) min = Math.min(min, rows[r][index(h, r)]);
+            return min;
+        }
+
+        private int index(int h, int row) {
+            h *= SEEDS[row];
+            return (h ^ (h >>> 15)) & mask;
+        }
+    }
+}
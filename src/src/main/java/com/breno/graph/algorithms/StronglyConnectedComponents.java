@@ -0,0 +1,458 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+/**
+ * Strongly connected components of a CSR snapshot, and the condensation DAG.
+ *
+ * tarjan() is Tarjan's algorithm with an explicit DFS stack, O(V + E) and safe on deep graphs.
+ * forwardBackward() is the parallel FW-BW scheme: trim vertices without in- or out-arcs
+ * (each is its own component), then pick a pivot; the vertices both reachable from it and
+ * reaching it form its component, and the three remaining parts cannot share a component,
+ * so they are solved as independent fork-join tasks. Reachability is a BFS whose wide
+ * levels are expanded in parallel chunks; small parts fall back to Tarjan.
+ *
+ * Both return the same numbering: components are ordered topologically (every arc of the
+ * condensation goes from a lower to a higher id), ties broken by smallest member id.
+ */
+public final class StronglyConnectedComponents {
+    private StronglyConnectedComponents() {}
+
+    /** Parts up to this size are finished with a sequential Tarjan. */
+    static final int SEQUENTIAL_CUTOFF = 1 << 14;
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int TRIMMED = -1;
+
+    public static final class Result<T> {
+        /** Snapshot the vertex ids refer to. */
+        public final CsrGraph<T> graph;
+        /** Component of each vertex id, numbered in topological order of the condensation. */
+        public final int[] component;
+        public final int count;
+        private CsrGraph<Integer> condensation;
+        private int[] memberStart;
+        private int[] members;
+
+        private Result(CsrGraph<T> graph, int[] component, int count) {
+            this.graph = graph;
+            this.component = component;
+            this.count = count;
+        }
+
+        /** Component of value, or -1 if it is not a vertex. */
+        public int componentOf(T value) {
+            int v = graph.idOf(value);
+            return v < 0 ? -1 : component[v];
+        }
+
+        /**
+         * Directed graph whose vertices are the component ids 0..count-1, with one arc per
+         * pair of components joined by at least one arc (weight = the cheapest such arc).
+         * TopologicalSort.sort(condensation()) always succeeds. Built on first use.
+         */
+        public CsrGraph<Integer> condensation() {
+            if (condensation == null) condensation = buildCondensation();
+            return condensation;
+        }
+
+        /** Vertices of component c, in id order. */
+        public List<T> members(int c) {
+            if (members == null) groupMembers();
+            List<T> out = new ArrayList<>(memberStart[c + 1] - memberStart[c]);
+            for (int i = memberStart[c]; i < memberStart[c + 1]; i++) out.add(graph.valueOf(members[i]));
+            return out;
+        }
+
+        /** All components in topological order. */
+        public List<List<T>> components() {
+            List<List<T>> all = new ArrayList<>(count);
+            for (int c = 0; c < count; c++) all.add(members(c));
+            return all;
+        }
+
+        private CsrGraph<Integer> buildCondensation() {
+            int[] offsets = new int[count + 1];
+            for (int v = 0; v < component.length; v++) {
+                for (int a = graph.arcStart(v), end = graph.arcEnd(v); a < end; a++) {
+                    if (component[graph.arcTarget(a)] != component[v]) offsets[component[v] + 1]++;
+                }
+            }
+            for (int c = 0; c < count; c++) offsets[c + 1] += offsets[c];
+            int[] fill = Arrays.copyOf(offsets, count);
+            int[] targets = new int[offsets[count]];
+            float[] weights = new float[offsets[count]];
+            for (int v = 0; v < component.length; v++) {
+                for (int a = graph.arcStart(v), end = graph.arcEnd(v); a < end; a++) {
+                    int cu = component[v], cv = component[graph.arcTarget(a)];
+                    if (cu == cv) continue;
+                    int s = fill[cu]++;
+                    targets[s] = cv;
+                    weights[s] = graph.arcWeight(a);
+                }
+            }
+            // merge parallel arcs in place; last[x] is the slot of the arc to x if it is in the current segment
+            int[] last = new int[count];
+            Arrays.fill(last, -1);
+            int m = 0, begin = 0;
+            for (int c = 0; c < count; c++) {
+                int from = m, end = offsets[c + 1];
+                for (int s = begin; s < end; s++) {
+                    int x = targets[s];
+                    if (last[x] >= from) {
+                        weights[last[x]] = Math.min(weights[last[x]], weights[s]);
+                    } else {
+                        last[x] = m;
+                        targets[m] = x;
+                        weights[m++] = weights[s];
+                    }
+                }
+                begin = end;
+                offsets[c + 1] = m;
+            }
+            List<Integer> ids = new AbstractList<>() {
+                @Override public Integer get(int i) { return i; }
+                @Override public int size() { return count; }
+            };
+            return CsrGraph.of(true, ids, offsets, Arrays.copyOf(targets, m), Arrays.copyOf(weights, m));
+        }
+
+        private void groupMembers() {
+            int[] start = new int[count + 1];
+            for (int c : component) start[c + 1]++;
+            for (int c = 0; c < count; c++) start[c + 1] += start[c];
+            int[] fill = Arrays.copyOf(start, count);
+            int[] m = new int[component.length];
+            for (int v = 0; v < component.length; v++) m[fill[component[v]]++] = v;
+            memberStart = start;
+            members = m;
+        }
+    }
+
+    public static <T> Result<T> tarjan(Graph<T> g) {
+        return tarjan(g.freeze());
+    }
+
+    /** Sequential iterative Tarjan. */
+    public static <T> Result<T> tarjan(CsrGraph<T> g) {
+        int n = g.vertexCount();
+        int[] comp = new int[n];
+        Arrays.fill(comp, -1);
+        int[] labels = {0};
+        tarjan(g, null, n, new int[n], new int[n], comp, null, () -> labels[0]++);
+        return result(g, comp, labels[0]);
+    }
+
+    public static <T> Result<T> forwardBackward(CsrGraph<T> g) {
+        return forwardBackward(g, ForkJoinPool.commonPool());
+    }
+
+    /** Parallel FW-BW with trimming on the given pool. */
+    public static <T> Result<T> forwardBackward(CsrGraph<T> g, ForkJoinPool pool) {
+        ForwardBackward fb = new ForwardBackward(g, pool);
+        fb.run();
+        return result(g, fb.comp, fb.labels.get());
+    }
+
+    /**
+     * Tarjan over the roots (0..size-1 when roots is null), following only arcs into
+     * inSet (all arcs when null); size bounds the number of vertices reachable that way.
+     * index/low/comp may be shared by calls on disjoint sets; comp is -1 until assigned.
+     */
+    private static void tarjan(CsrGraph<?> g, int[] roots, int size, int[] index, int[] low, int[] comp,
+                               IntPredicate inSet, IntSupplier nextLabel) {
+        int[] stack = new int[size];        // visited vertices not yet in a component
+        int[] path = new int[size];         // DFS path
+        int[] nextArc = new int[size];
+        int counter = 0, sp = 0;
+        for (int i = 0; i < size; i++) {
+            int root = roots == null ? i : roots[i];
+            if (index[root] != 0) continue;
+            int top = 0;
+            path[0] = root;
+            nextArc[0] = g.arcStart(root);
+            index[root] = low[root] = ++counter;
+            stack[sp++] = root;
+            while (top >= 0) {
+                int v = path[top];
+                if (nextArc[top] < g.arcEnd(v)) {
+                    int u = g.arcTarget(nextArc[top]++);
+                    if (inSet != null && !inSet.test(u)) continue;
+                    if (index[u] == 0) {
+                        index[u] = low[u] = ++counter;
+                        stack[sp++] = u;
+                        path[++top] = u;
+                        nextArc[top] = g.arcStart(u);
+                    } else if (comp[u] < 0 && index[u] < low[v]) {
+                        low[v] = index[u];
+                    }
+                    continue;
+                }
+                top--;
+                if (top >= 0 && low[v] < low[path[top]]) low[path[top]] = low[v];
+                if (low[v] == index[v]) {
+                    int label = nextLabel.getAsInt();
+                    int w;
+                    do {
+                        w = stack[--sp];
+                        comp[w] = label;
+                    } while (w != v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Renumbers raw labels (any values below bound) canonically: dense ids by smallest
+     * member, then Kahn's order over the arcs between components with a FIFO seeded in
+     * that order, so the numbering depends only on the partition.
+     */
+    private static <T> Result<T> result(CsrGraph<T> g, int[] raw, int bound) {
+        int n = g.vertexCount();
+        int[] dense = new int[bound];
+        Arrays.fill(dense, -1);
+        int[] comp = new int[n];
+        int k = 0;
+        for (int v = 0; v < n; v++) {
+            if (dense[raw[v]] < 0) dense[raw[v]] = k++;
+            comp[v] = dense[raw[v]];
+        }
+
+        int[] start = new int[k + 1];
+        int[] indeg = new int[k];
+        for (int v = 0; v < n; v++) {
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int cv = comp[g.arcTarget(a)];
+                if (cv != comp[v]) {
+                    start[comp[v] + 1]++;
+                    indeg[cv]++;
+                }
+            }
+        }
+        for (int c = 0; c < k; c++) start[c + 1] += start[c];
+        int[] fill = Arrays.copyOf(start, k);
+        int[] to = new int[start[k]];
+        for (int v = 0; v < n; v++) {
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int cv = comp[g.arcTarget(a)];
+                if (cv != comp[v]) to[fill[comp[v]]++] = cv;
+            }
+        }
+
+        int[] order = new int[k];
+        int head = 0, tail = 0;
+        for (int c = 0; c < k; c++) {
+            if (indeg[c] == 0) order[tail++] = c;
+        }
+        while (head < tail) {
+            int c = order[head++];
+            for (int s = start[c]; s < start[c + 1]; s++) {
+                if (--indeg[to[s]] == 0) order[tail++] = to[s];
+            }
+        }
+        int[] rank = dense;                 // reused: bound >= k
+        for (int i = 0; i < k; i++) rank[order[i]] = i;
+        for (int v = 0; v < n; v++) comp[v] = rank[comp[v]];
+        return new Result<>(g, comp, k);
+    }
+
+    /**
+     * State of one FW-BW run. Every open part has its own color; a vertex's color changes
+     * only inside the task that owns its part, so tasks never touch each other's vertices.
+     * Reads of a neighbour's color from another part may race, but can never return the
+     * reading task's color, which is all the traversals test for.
+     */
+    private static final class ForwardBackward {
+        final CsrGraph<?> g;
+        final CsrGraph<?> t;
+        final ForkJoinPool pool;
+        final int n;
+        final AtomicIntegerArray color;
+        final int[] comp;
+        final int[] index;
+        final int[] low;
+        final AtomicInteger colors = new AtomicInteger(1);      // 0 is the initial part
+        final AtomicInteger labels = new AtomicInteger();
+
+        ForwardBackward(CsrGraph<?> g, ForkJoinPool pool) {
+            this.g = g;
+            this.t = g.transpose();
+            this.pool = pool;
+            this.n = g.vertexCount();
+            this.color = new AtomicIntegerArray(n);
+            this.comp = new int[n];
+            this.index = new int[n];
+            this.low = new int[n];
+            Arrays.fill(comp, -1);
+        }
+
+        void run() {
+            trim();
+            int[] rest = ParallelChunks.concat(ParallelChunks.run(pool, n, (from, to, out) -> {
+                for (int v = from; v < to; v++) {
+                    if (color.get(v) == 0) out.add(v);
+                }
+            }));
+            if (rest.length > 0) pool.invoke(new Part(rest, 0));
+        }
+
+        /** Repeatedly removes vertices with no in- or no out-arcs (self-loops ignored); each is a component. */
+        private void trim() {
+            AtomicIntegerArray in = new AtomicIntegerArray(n);
+            AtomicIntegerArray out = new AtomicIntegerArray(n);
+            int[] frontier = ParallelChunks.concat(ParallelChunks.run(pool, n, (from, to, buf) -> {
+                for (int v = from; v < to; v++) {
+                    in.set(v, degreeWithoutLoops(t, v));
+                    out.set(v, degreeWithoutLoops(g, v));
+                    if ((in.get(v) == 0 || out.get(v) == 0) && color.compareAndSet(v, 0, TRIMMED)) buf.add(v);
+                }
+            }));
+            while (frontier.length > 0) {
+                int[] cur = frontier;
+                frontier = ParallelChunks.concat(ParallelChunks.run(pool, cur.length, (from, to, buf) -> {
+                    for (int i = from; i < to; i++) {
+                        int v = cur[i];
+                        comp[v] = labels.getAndIncrement();
+                        for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                            int u = g.arcTarget(a);
+                            if (u != v && in.decrementAndGet(u) == 0 && color.compareAndSet(u, 0, TRIMMED)) buf.add(u);
+                        }
+                        for (int a = t.arcStart(v), end = t.arcEnd(v); a < end; a++) {
+                            int u = t.arcTarget(a);
+                            if (u != v && out.decrementAndGet(u) == 0 && color.compareAndSet(u, 0, TRIMMED)) buf.add(u);
+                        }
+                    }
+                }));
+            }
+        }
+
+        private static int degreeWithoutLoops(CsrGraph<?> g, int v) {
+            int d = 0;
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                if (g.arcTarget(a) != v) d++;
+            }
+            return d;
+        }
+
+        /**
+         * BFS in graph from pivot that claims each vertex colored from (recoloring it to) or
+         * from2 (to to2); returns the claimed vertices. Levels wider than a chunk are
+         * expanded in parallel, narrower ones inline.
+         */
+        private int[] reach(CsrGraph<?> graph, int pivot, int from, int to, int from2, int to2) {
+            if (!claim(pivot, from, to, from2, to2)) return new int[0];
+            int[] queue = new int[16];
+            queue[0] = pivot;
+            int head = 0, size = 1;
+            while (head < size) {
+                int levelEnd = size;
+                if (levelEnd - head <= ParallelChunks.CHUNK) {
+                    for (; head < levelEnd; head++) {
+                        int v = queue[head];
+                        for (int a = graph.arcStart(v), end = graph.arcEnd(v); a < end; a++) {
+                            int u = graph.arcTarget(a);
+                            if (!claim(u, from, to, from2, to2)) continue;
+                            if (size == queue.length) queue = Arrays.copyOf(queue, size * 2);
+                            queue[size++] = u;
+                        }
+                    }
+                    continue;
+                }
+                int[] level = queue;
+                int base = head;
+                int[] next = ParallelChunks.concat(ParallelChunks.run(pool, levelEnd - head, (lo, hi, out) -> {
+                    for (int i = base + lo; i < base + hi; i++) {
+                        int v = level[i];
+                        for (int a = graph.arcStart(v), end = graph.arcEnd(v); a < end; a++) {
+                            int u = graph.arcTarget(a);
+                            if (claim(u, from, to, from2, to2)) out.add(u);
+                        }
+                    }
+                }));
+                if (size + next.length > queue.length) queue = Arrays.copyOf(queue, Math.max(size + next.length, size * 2));
+                System.arraycopy(next, 0, queue, size, next.length);
+                head = levelEnd;
+                size += next.length;
+            }
+            return Arrays.copyOf(queue, size);
+        }
+
+        private boolean claim(int u, int from, int to, int from2, int to2) {
+            int c = color.get(u);
+            if (c == from) return color.compareAndSet(u, from, to);
+            return c == from2 && color.compareAndSet(u, from2, to2);
+        }
+
+        private static int[] withColor(AtomicIntegerArray color, int[] vertices, int c) {
+            int k = 0;
+            int[] out = new int[vertices.length];
+            for (int v : vertices) {
+                if (color.get(v) == c) out[k++] = v;
+            }
+            return Arrays.copyOf(out, k);
+        }
+
+        /**
+         * One open part: the vertices colored c. A pivot step keeps the largest of its three
+         * remainders and forks the others, which are at most half as big, so task nesting is
+         * logarithmic. A step that splits off less than 1/PROGRESS of the part means the part
+         * is loosely connected (many small components); Tarjan then finishes it in one pass.
+         */
+        private final class Part extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+            private static final int PROGRESS = 16;
+            private final int[] members;
+            private final int c;
+
+            Part(int[] members, int c) {
+                this.members = members;
+                this.c = c;
+            }
+
+            @Override
+            protected void compute() {
+                int[] part = members;
+                int pc = c;
+                boolean progress = true;
+                List<Part> forked = new ArrayList<>();
+                while (part.length > SEQUENTIAL_CUTOFF && progress) {
+                    int pivot = part[ThreadLocalRandom.current().nextInt(part.length)];
+                    int fw = colors.getAndIncrement(), bw = colors.getAndIncrement(), scc = colors.getAndIncrement();
+                    int[] fwSet = reach(g, pivot, pc, fw, NONE, NONE);
+                    int[] bwSet = reach(t, pivot, pc, bw, fw, scc);
+                    int label = labels.getAndIncrement();
+                    for (int v : bwSet) {
+                        if (color.get(v) == scc) comp[v] = label;
+                    }
+                    int[][] rest = {withColor(color, fwSet, fw), withColor(color, bwSet, bw), withColor(color, part, pc)};
+                    int[] restColor = {fw, bw, pc};
+                    int largest = 0;
+                    for (int i = 1; i < 3; i++) {
+                        if (rest[i].length > rest[largest].length) largest = i;
+                    }
+                    for (int i = 0; i < 3; i++) {
+                        if (i == largest || rest[i].length == 0) continue;
+                        Part p = new Part(rest[i], restColor[i]);
+                        p.fork();
+                        forked.add(p);
+                    }
+                    progress = part.length - rest[largest].length >= part.length / PROGRESS;
+                    part = rest[largest];
+                    pc = restColor[largest];
+                }
+                int fc = pc;
+                tarjan(g, part, part.length, index, low, comp, u -> color.get(u) == fc, labels::getAndIncrement);
+                for (Part p : forked) p.join();
+            }
+        }
+    }
+}
@@ -1,52 +1,107 @@
 package com.breno.graph.algorithms;
 
-import com.breno.graph.Edge;
+import com.breno.graph.CsrGraph;
 import com.breno.graph.Graph;
-import com.breno.graph.Vertex;
+import com.breno.graph.IndexedGraph;
+import com.breno.graph.IntGraph;
 
 import java.util.*;
 
 /**
- * Kahn's algorithm for topological ordering of a DAG.
+ * Kahn's algorithm for topological ordering of a DAG, on int[] in-degrees over a CSR snapshot.
  * Complexity: O(V + E).
  */
 public final class TopologicalSort {
     private TopologicalSort() {}
 
     public static <T> List<T> sort(Graph<T> g) {
-        if (!g.isDirected()) {
-            throw new IllegalArgumentException("Topological sort requires a directed graph.");
-        }
+        requireDirected(g.isDirected());
+        return sort(g.freeze());
+    }
 
-        Map<Vertex<T>, Integer> indeg = new HashMap<>();
-        for (Vertex<T> v : g.vertices()) indeg.put(v, 0);
-        for (Vertex<T> v : g.vertices()) {
-            for (Edge<T> e : g.outgoing(v)) {
-                indeg.put(e.getTo(), indeg.get(e.getTo()) + 1);
-            }
+    /** Kahn's algorithm on a CSR snapshot, with int[] in-degrees and an int[] queue. */
+    public static <T> List<T> sort(CsrGraph<T> g) {
+        requireDirected(g.isDirected());
+        int[] order = order(g, null);
+        List<T> out = new ArrayList<>(order.length);
+        for (int v : order) out.add(g.valueOf(v));
+        return out;
+    }
+
+    /** Keys of an IntGraph in topological order. */
+    public static int[] sort(IntGraph g) {
+        requireDirected(g.isDirected());
+        IntGraph.Snapshot s = g.freeze();
+        int[] order = order(s, null);
+        for (int i = 0; i < order.length; i++) order[i] = s.keyAt(order[i]);
+        return order;
+    }
+
+    public static <T> List<List<T>> levels(Graph<T> g) {
+        requireDirected(g.isDirected());
+        return levels(g.freeze());
+    }
+
+    /**
+     * Wavefronts of the DAG: level 0 holds the vertices without predecessors, level k those
+     * whose longest chain of predecessors has k arcs. Vertices of one level never depend on
+     * each other, so each level can run in parallel once the previous ones are done.
+     */
+    public static <T> List<List<T>> levels(CsrGraph<T> g) {
+        requireDirected(g.isDirected());
+        int[] depth = new int[g.vertexCount()];
+        int[] order = order(g, depth);
+        List<List<T>> levels = new ArrayList<>();
+        for (int v : order) {
+            if (depth[v] == levels.size()) levels.add(new ArrayList<>());
+            levels.get(depth[v]).add(g.valueOf(v));
         }
+        return levels;
+    }
+
+    /**
+     * Kahn order of vertex ids with a FIFO queue. The queue releases vertices in
+     * nondecreasing depth, so when depth is given it is filled with each vertex's level.
+     */
+    static int[] order(IndexedGraph<?> g, int[] depth) {
+        int n = g.vertexCount();
+        int[] indeg = new int[n];
+        for (int a = 0; a < g.arcCount(); a++) indeg[g.arcTarget(a)]++;
 
-        Deque<Vertex<T>> q = new ArrayDeque<>();
-        for (Map.Entry<Vertex<T>, Integer> en : indeg.entrySet()) {
-            if (en.getValue() == 0) q.add(en.getKey());
+        int[] q = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (indeg[v] == 0) q[tail++] = v;
         }
 
-        List<T> order = new ArrayList<>();
-        int visited = 0;
-        while (!q.isEmpty()) {
-            Vertex<T> v = q.removeFirst();
-            order.add(v.getValue());
-            visited++;
-            for (Edge<T> e : g.outgoing(v)) {
-                Vertex<T> u = e.getTo();
-                indeg.put(u, indeg.get(u) - 1);
-                if (indeg.get(u) == 0) q.addLast(u);
+        while (head < tail) {
+            int v = q[head++];
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int u = g.arcTarget(a);
+                if (depth != null && depth[v] + 1 > depth[u]) depth[u] = depth[v] + 1;
+                if (--indeg[u] == 0) q[tail++] = u;
             }
         }
 
-        if (visited != indeg.size()) {
+        if (tail != n) {
             throw new IllegalStateException("Graph has at least one cycle; topological order doesn't exist.");
         }
-        return order;
+        return q;
+    }
+
+    private static void requireDirected(boolean directed) {
+        if (!directed) {
+            throw new IllegalArgumentException("Topological sort requires a directed graph.");
+        }
+    }
+
+    /**
+     * Topological order of the strongly connected components, for graphs that may have
+     * cycles: each inner list is one component, and every edge between components points
+     * to a later list. An acyclic graph yields singletons in a valid topological order.
+     */
+    public static <T> List<List<T>> sortComponents(Graph<T> g) {
+        requireDirected(g.isDirected());
+        return StronglyConnectedComponents.tarjan(g).components();
     }
 }
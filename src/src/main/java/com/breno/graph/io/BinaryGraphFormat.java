@@ -0,0 +1,133 @@
+package com.breno.graph.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of the binary graph file (little-endian, every section naturally aligned):
+ *
+ *   header (48 bytes)
+ *     0  magic "GRAPHBIN"        8 bytes
+ *     8  version                 int (1)
+ *    12  flags                   int (bit 0: directed)
+ *    16  vertex count n          int
+ *    20  arc count m             int
+ *    24  hash slots s            int (power of two, >= 2n)
+ *    28  reserved                int
+ *    32  name bytes              long
+ *    40  reserved                long
+ *   offsets     int[n+1]   CSR arc offsets per vertex
+ *   targets     int[m]     arc heads
+ *   weights     float[m]   arc weights
+ *   (pad to 8)
+ *   nameStart   long[n+1]  byte offset of each vertex name in the name blob
+ *   hash        int[s]     open-addressing table of (id + 1) by name hash, 0 = empty
+ *   names       byte[]     UTF-8 vertex names, concatenated
+ *
+ * Undirected graphs store both arcs of every edge, like CsrGraph.
+ */
+final class BinaryGraphFormat {
+    private BinaryGraphFormat() {}
+
+    static final byte[] MAGIC = "GRAPHBIN".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int FLAG_DIRECTED = 1;
+    static final long HEADER_BYTES = 48;
+
+    /** Section offsets for given sizes. */
+    record Layout(int n, int m, int slots, long nameBytes) {
+        long offsetsAt() { return HEADER_BYTES; }
+        long targetsAt() { return offsetsAt() + 4L * (n + 1); }
+        long weightsAt() { return targetsAt() + 4L * m; }
+        long nameStartAt() { return align8(weightsAt() + 4L * m); }
+        long hashAt() { return nameStartAt() + 8L * (n + 1); }
+        long namesAt() { return hashAt() + 4L * slots; }
+        long totalBytes() { return namesAt() + nameBytes; }
+    }
+
+    static long align8(long x) {
+        return (x + 7) & ~7L;
+    }
+
+    static int slotsFor(int n) {
+        int s = 2;
+        while (s < 2L * n) s <<= 1;
+        return s;
+    }
+
+    /** Hash used for the name table; String.hashCode with the high bits folded in. */
+    static int hash(String name) {
+        int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /** Sequential little-endian writer over a file channel with a direct staging buffer. */
+    static final class Writer implements AutoCloseable {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Writer(FileChannel ch) {
+            this.ch = ch;
+        }
+
+        long position() {
+            return position;
+        }
+
+        void putInt(int x) throws IOException {
+            ensure(4);
+            buf.putInt(x);
+            position += 4;
+        }
+
+        void putFloat(float x) throws IOException {
+            ensure(4);
+            buf.putFloat(x);
+            position += 4;
+        }
+
+        void putLong(long x) throws IOException {
+            ensure(8);
+            buf.putLong(x);
+            position += 8;
+        }
+
+        void putBytes(byte[] b) throws IOException {
+            int at = 0;
+            while (at < b.length) {
+                if (!buf.hasRemaining()) flush();
+                int k = Math.min(buf.remaining(), b.length - at);
+                buf.put(b, at, k);
+                at += k;
+            }
+            position += b.length;
+        }
+
+        void padTo(long offset) throws IOException {
+            while (position < offset) {
+                ensure(1);
+                buf.put((byte) 0);
+                position++;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buf.remaining() < bytes) flush();
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
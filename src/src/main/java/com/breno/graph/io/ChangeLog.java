@@ -0,0 +1,238 @@
+package com.breno.graph.io;
+
+import com.breno.graph.Graph;
+import com.breno.graph.Vertex;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Incremental persistence for a text graph file: a base snapshot in the GraphLoader
+ * format plus an append-only log of changes beside it ("<name>.log"). Changes made
+ * through this class are applied to the graph and queued as records; flush() appends
+ * only those records, so a save costs O(changes). Loading replays the log over the
+ * snapshot, and once the log outgrows half of the snapshot it is folded back in.
+ *
+ * Both files start with a "# generation N" comment. Compaction writes the next
+ * generation's snapshot before it resets the log, so a log left behind by a crash
+ * between the two steps no longer matches and is ignored rather than applied twice.
+ * A torn last record (no trailing newline) is dropped on open.
+ */
+public final class ChangeLog {
+
+    static final String GENERATION = "# generation ";
+    /** Compaction waits for at least this many log records. */
+    static final long MIN_COMPACT_RECORDS = 1024;
+
+    private final Path base;
+    private final Path log;
+    private final Graph<String> graph;
+    private long generation;
+    private long baseRecords;       // V and E lines in the snapshot
+    private long logRecords;        // records in the current log
+    private boolean logCurrent;     // log exists and belongs to this generation
+    private final StringBuilder pending = new StringBuilder();
+    private int pendingRecords;
+
+    private ChangeLog(Path base, Graph<String> graph, long generation) {
+        this.base = base;
+        this.log = logOf(base);
+        this.graph = graph;
+        this.generation = generation;
+    }
+
+    /** Conventional location of the change log for a graph file: "<name>.log" beside it. */
+    public static Path logOf(Path base) {
+        return base.resolveSibling(base.getFileName() + ".log");
+    }
+
+    /** Loads the snapshot at base and replays its log, if any. */
+    public static ChangeLog open(Path base) throws IOException {
+        ChangeLog cl = new ChangeLog(base, GraphLoader.loadFromFile(base), readGeneration(base));
+        cl.baseRecords = recordsOf(cl.graph);
+        cl.replay();
+        return cl;
+    }
+
+    /** Writes g as a new snapshot at base (replacing any file and log there) and tracks its changes from now on. */
+    public static ChangeLog create(Path base, Graph<String> g) throws IOException {
+        ChangeLog cl = new ChangeLog(base, g, Files.exists(base) ? readGeneration(base) : 0);
+        cl.compact();
+        return cl;
+    }
+
+    public Graph<String> graph() {
+        return graph;
+    }
+
+    public Path base() {
+        return base;
+    }
+
+    /** Records queued since the last flush. */
+    public int pending() {
+        return pendingRecords;
+    }
+
+    /** Records in the log file, not counting pending ones. */
+    public long logged() {
+        return logRecords;
+    }
+
+    public boolean addVertex(String v) {
+        requireName(v);
+        if (!graph.addVertex(v)) return false;
+        record("V ", v, null, null);
+        return true;
+    }
+
+    public void addEdge(String from, String to, float weight) {
+        requireName(from);
+        requireName(to);
+        graph.addEdge(from, to, weight);
+        record("E ", from, to, Float.toString(weight));
+    }
+
+    public boolean removeVertex(String v) {
+        if (!graph.removeVertex(v)) return false;
+        record("-V ", v, null, null);
+        return true;
+    }
+
+    public boolean removeEdge(String from, String to) {
+        if (!graph.removeEdge(from, to)) return false;
+        record("-E ", from, to, null);
+        return true;
+    }
+
+    /** Appends the pending records to the log and forces them to disk; compacts when the log has grown large. */
+    public void flush() throws IOException {
+        if (pendingRecords == 0) return;
+        byte[] bytes = pending.toString().getBytes(StandardCharsets.UTF_8);
+        if (logCurrent) {
+            try (FileChannel ch = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                writeFully(ch, ByteBuffer.wrap(bytes));
+                ch.force(false);
+            }
+        } else {
+            resetLog(bytes);
+        }
+        logRecords += pendingRecords;
+        pending.setLength(0);
+        pendingRecords = 0;
+        if (logRecords >= MIN_COMPACT_RECORDS && logRecords > baseRecords / 2) compact();
+    }
+
+    /** Writes the whole graph as the next generation's snapshot and starts an empty log. */
+    public void compact() throws IOException {
+        Path tmp = base.resolveSibling(base.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer out = new BufferedWriter(Channels.newWriter(ch, StandardCharsets.UTF_8), 1 << 16);
+            out.write(GENERATION + (generation + 1) + "\n");
+            GraphSaver.write(graph.freeze(), out);
+            out.flush();
+            ch.force(true);
+        }
+        try {
+            Files.move(tmp, base, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, base, StandardCopyOption.REPLACE_EXISTING);
+        }
+        generation++;
+        baseRecords = recordsOf(graph);
+        pending.setLength(0);
+        pendingRecords = 0;
+        resetLog(new byte[0]);
+        logRecords = 0;
+    }
+
+    private void record(String op, String a, String b, String w) {
+        pending.append(op).append(a);
+        if (b != null) pending.append(' ').append(b);
+        if (w != null) pending.append(' ').append(w);
+        pending.append('\n');
+        pendingRecords++;
+    }
+
+    /** Names are whitespace-delimited tokens in the file format. */
+    private static void requireName(String v) {
+        if (v.isEmpty()) throw new IllegalArgumentException("Vertex name must not be empty");
+        for (int i = 0; i < v.length(); i++) {
+            if (v.charAt(i) <= ' ') throw new IllegalArgumentException("Vertex name must not contain whitespace: '" + v + "'");
+        }
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(log) || readGeneration(log) != generation) return;
+        long valid;
+        try (FileChannel ch = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            valid = endOfLastLine(ch);
+            if (valid < ch.size()) ch.truncate(valid);
+        }
+        logRecords = Math.max(0, GraphLoader.replay(log, valid, graph) - 1);
+        logCurrent = true;
+    }
+
+    private void resetLog(byte[] records) throws IOException {
+        try (FileChannel ch = FileChannel.open(log, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(ch, ByteBuffer.wrap((GENERATION + generation + "\n").getBytes(StandardCharsets.UTF_8)));
+            writeFully(ch, ByteBuffer.wrap(records));
+            ch.force(true);
+        }
+        logCurrent = true;
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer bb) throws IOException {
+        while (bb.hasRemaining()) ch.write(bb);
+    }
+
+    /** Offset just past the last '\n' (0 if there is none). */
+    private static long endOfLastLine(FileChannel ch) throws IOException {
+        ByteBuffer bb = ByteBuffer.allocate(8192);
+        long end = ch.size();
+        while (end > 0) {
+            long from = Math.max(0, end - bb.capacity());
+            bb.clear().limit((int) (end - from));
+            while (bb.hasRemaining() && ch.read(bb, from + bb.position()) > 0) { }
+            for (int i = bb.position() - 1; i >= 0; i--) {
+                if (bb.get(i) == '\n') return from + i + 1;
+            }
+            end = from;
+        }
+        return 0;
+    }
+
+    /** Generation from a "# generation N" first line; 0 for files written without one. */
+    static long readGeneration(Path file) throws IOException {
+        byte[] head = new byte[64];
+        int len = 0;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer bb = ByteBuffer.wrap(head);
+            while (bb.hasRemaining() && ch.read(bb) > 0) { }
+            len = bb.position();
+        }
+        String first = new String(head, 0, len, StandardCharsets.UTF_8);
+        int nl = first.indexOf('\n');
+        if (nl >= 0) first = first.substring(0, nl);
+        if (!first.startsWith(GENERATION)) return 0;
+        try {
+            return Long.parseLong(first.substring(GENERATION.length()).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long recordsOf(Graph<String> g) {
+        long arcs = 0;
+        for (Vertex<String> v : g.vertices()) arcs += g.outgoing(v).size();
+        return g.vertices().size() + (g.isDirected() ? arcs : arcs / 2);
+    }
+}
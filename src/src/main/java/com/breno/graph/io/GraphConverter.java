@@ -0,0 +1,20 @@
+package com.breno.graph.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/** Conversions between the text format (GraphLoader/GraphSaver) and the binary format (MappedGraph). */
+public final class GraphConverter {
+
+    private GraphConverter() {}
+
+    public static void textToBinary(Path text, Path binary) throws IOException {
+        GraphSaver.saveBinary(GraphLoader.loadFromFile(text), binary);
+    }
+
+    public static void binaryToText(Path binary, Path text) throws IOException {
+        try (MappedGraph g = MappedGraph.open(binary)) {
+            GraphSaver.saveToFile(g, text);
+        }
+    }
+}
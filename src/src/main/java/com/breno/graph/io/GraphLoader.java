@@ -2,11 +2,12 @@ package com.breno.graph.io;
 
 import com.breno.graph.Graph;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 /**
  * Simple graph file parser.
@@ -23,62 +24,110 @@ import java.nio.file.Path;
  *   V C
  *   E A B 1.5
  *   E B C 2.0
+ *
+ * DIRECTED must come before any V/E line. The file is read once through a large
+ * buffer and tokenized in place; errors are reported as "line N: ...".
+ * Change logs (see ChangeLog) use the same lines plus removals "-V value" and "-E from to".
  */
 public final class GraphLoader {
 
     private GraphLoader() {}
 
+    static final int BUFFER_SIZE = 1 << 20;
+    static final String DIRECTED_TOO_LATE = "DIRECTED must come before any V/E line";
+
     public static Graph<String> loadFromFile(Path path) throws IOException {
-        boolean directed = false;
-        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            String firstNonComment = null;
-            br.mark(8192);
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                firstNonComment = line;
-                break;
+        TextGraphParser.NameTable names = new TextGraphParser.NameTable();
+        GraphSink sink = new GraphSink(names, new Graph<>(false), false);
+        TextGraphParser parser = new TextGraphParser(sink, names);
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            parseRange(ch, 0, ch.size(), parser);
+        }
+        return sink.graph;
+    }
+
+    /** Applies the records in bytes [0, length) of a change log to g; returns the number of lines read. */
+    static long replay(Path log, long length, Graph<String> g) throws IOException {
+        TextGraphParser.NameTable names = new TextGraphParser.NameTable();
+        GraphSink sink = new GraphSink(names, g, true);
+        TextGraphParser parser = new TextGraphParser(sink, names);
+        try (FileChannel ch = FileChannel.open(log, StandardOpenOption.READ)) {
+            parseRange(ch, 0, Math.min(length, ch.size()), parser);
+        }
+        return parser.lines();
+    }
+
+    /** Feeds the lines in bytes [from, to) of the file to parser; from must be the start of a line. */
+    static void parseRange(FileChannel ch, long from, long to, TextGraphParser parser) throws IOException {
+        byte[] buf = new byte[(int) Math.min(BUFFER_SIZE, Math.max(1, to - from))];
+        ByteBuffer bb = ByteBuffer.wrap(buf);
+        long pos = from;
+        int filled = 0;
+        boolean eof = false;
+        while (!eof) {
+            if (filled == buf.length) {
+                // a single line longer than the buffer
+                buf = Arrays.copyOf(buf, buf.length * 2);
+                bb = ByteBuffer.wrap(buf);
             }
-            if (firstNonComment != null && firstNonComment.toUpperCase().startsWith("DIRECTED")) {
-                // ok, we will reread file from start to parse all lines
-            } else {
-                // no DIRECTED header found; default false
+            bb.limit((int) Math.min(buf.length, filled + (to - pos))).position(filled);
+            int r = pos < to ? ch.read(bb, pos) : -1;
+            if (r < 0) eof = true;
+            else {
+                filled += r;
+                pos += r;
             }
+
+            int consumed = parser.parseLines(buf, 0, filled, eof);
+            System.arraycopy(buf, consumed, buf, 0, filled - consumed);
+            filled -= consumed;
         }
+    }
 
-        Graph<String> g = new Graph<>(directed);
-        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#")) continue;
-                String[] parts = line.split("\\s+");
-                if (parts.length == 0) continue;
-                String cmd = parts[0].toUpperCase();
-                switch (cmd) {
-                    case "DIRECTED" -> {
-                        if (parts.length < 2) throw new IOException("DIRECTED expects true|false");
-                        boolean dir = Boolean.parseBoolean(parts[1]);
-                        // If graph already has edges/vertices, this would be too late.
-                        // For simplicity of this assignment, we expect DIRECTED before any V/E.
-                        g = new Graph<>(dir);
-                    }
-                    case "V" -> {
-                        if (parts.length < 2) throw new IOException("V expects a value");
-                        g.addVertex(parts[1]);
-                    }
-                    case "E" -> {
-                        if (parts.length < 4) throw new IOException("E expects: from to weight");
-                        String from = parts[1];
-                        String to = parts[2];
-                        float w = Float.parseFloat(parts[3]);
-                        g.addEdge(from, to, w);
-                    }
-                    default -> throw new IOException("Unknown directive: " + cmd);
-                }
-            }
+    /** Applies parsed directives to a Graph; until the first V/E line a DIRECTED line may still swap the graph. */
+    private static final class GraphSink implements TextGraphParser.Sink {
+        private final TextGraphParser.NameTable names;
+        private boolean directed;
+        private Graph<String> graph;
+        private boolean hasContent;
+
+        /** hasContent: g already holds loaded data, so a DIRECTED line may no longer replace it. */
+        GraphSink(TextGraphParser.NameTable names, Graph<String> g, boolean hasContent) {
+            this.names = names;
+            this.graph = g;
+            this.directed = g.isDirected();
+            this.hasContent = hasContent;
+        }
+
+        @Override
+        public void directed(boolean directed, long lineNo) throws IOException {
+            if (hasContent) throw new TextGraphParser.ParseException(lineNo, DIRECTED_TOO_LATE);
+            if (directed != this.directed) graph = new Graph<>(directed);
+            this.directed = directed;
+        }
+
+        @Override
+        public void vertex(int id, long lineNo) {
+            hasContent = true;
+            graph.addVertex(names.name(id));
+        }
+
+        @Override
+        public void edge(int from, int to, float weight, long lineNo) {
+            hasContent = true;
+            graph.addEdge(names.name(from), names.name(to), weight);
+        }
+
+        @Override
+        public void removeVertex(int id, long lineNo) {
+            hasContent = true;
+            graph.removeVertex(names.name(id));
+        }
+
+        @Override
+        public void removeEdge(int from, int to, long lineNo) {
+            hasContent = true;
+            graph.removeEdge(names.name(from), names.name(to));
         }
-        return g;
     }
 }
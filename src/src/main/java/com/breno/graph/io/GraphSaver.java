@@ -1,58 +1,114 @@
 package com.breno.graph.io;
 
-import com.breno.graph.Edge;
 import com.breno.graph.Graph;
-import com.breno.graph.Vertex;
+import com.breno.graph.IndexedGraph;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.*;
+import java.nio.file.StandardOpenOption;
 
-/** Saves a graph using the same format accepted by GraphLoader. */
+/** Saves a graph using the same format accepted by GraphLoader, or the binary format read by MappedGraph. */
 public final class GraphSaver {
 
     private GraphSaver() {}
 
     public static void saveToFile(Graph<String> g, Path path) throws IOException {
+        saveToFile(g.freeze(), path);
+    }
+
+    public static void saveToFile(IndexedGraph<String> g, Path path) throws IOException {
         try (BufferedWriter bw = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            bw.write("DIRECTED " + g.isDirected());
-            bw.newLine();
-
-            // Emit vertices
-            List<String> values = new ArrayList<>();
-            for (Vertex<String> v : g.vertices()) values.add(v.getValue());
-            Collections.sort(values);
-            for (String v : values) {
-                bw.write("V " + v);
-                bw.newLine();
-            }
+            write(g, bw);
+        }
+    }
 
-            // Emit edges; avoid duplicates in undirected graphs
-            Set<String> emitted = new HashSet<>();
-            for (Vertex<String> v : g.vertices()) {
-                for (Edge<String> e : g.outgoing(v)) {
-                    String a = e.getFrom().getValue();
-                    String b = e.getTo().getValue();
-                    float w = e.getWeight();
-
-                    String key;
-                    if (g.isDirected()) {
-                        key = a + "->" + b + "@" + w;
-                    } else {
-                        // undirected: store canonical pair
-                        String x = a.compareTo(b) <= 0 ? a : b;
-                        String y = a.compareTo(b) <= 0 ? b : a;
-                        key = x + "--" + y + "@" + w;
-                    }
-                    if (emitted.add(key)) {
-                        bw.write(String.format(Locale.ROOT, "E %s %s %.6f", a, b, w));
-                        bw.newLine();
-                    }
+    /**
+     * Streams g in the GraphLoader format: every vertex, then every edge once. Undirected
+     * graphs hold each edge as two twin arcs, so only the arc leaving the lower id is
+     * written (and every other arc of a self-loop). Float.toString round-trips weights exactly.
+     */
+    static void write(IndexedGraph<String> g, Writer out) throws IOException {
+        out.write(g.isDirected() ? "DIRECTED true\n" : "DIRECTED false\n");
+        int n = g.vertexCount();
+        for (int v = 0; v < n; v++) {
+            out.write("V ");
+            out.write(g.valueOf(v));
+            out.write('\n');
+        }
+        for (int v = 0; v < n; v++) {
+            String from = g.valueOf(v);
+            int loops = 0;
+            for (int a = g.arcStart(v), end = g.arcEnd(v); a < end; a++) {
+                int t = g.arcTarget(a);
+                if (!g.isDirected()) {
+                    if (t < v) continue;
+                    if (t == v && (loops++ & 1) == 1) continue;
                 }
+                out.write("E ");
+                out.write(from);
+                out.write(' ');
+                out.write(g.valueOf(t));
+                out.write(' ');
+                out.write(Float.toString(g.arcWeight(a)));
+                out.write('\n');
+            }
+        }
+    }
+
+    public static void saveBinary(Graph<String> g, Path path) throws IOException {
+        saveBinary(g.freeze(), path);
+    }
+
+    /** Writes g in the binary format described in BinaryGraphFormat. */
+    public static void saveBinary(IndexedGraph<String> g, Path path) throws IOException {
+        int n = g.vertexCount();
+        int m = g.arcCount();
+        byte[][] names = new byte[n][];
+        long nameBytes = 0;
+        int slots = BinaryGraphFormat.slotsFor(n);
+        int[] hash = new int[slots];
+        for (int v = 0; v < n; v++) {
+            String name = g.valueOf(v);
+            names[v] = name.getBytes(StandardCharsets.UTF_8);
+            nameBytes += names[v].length;
+            int slot = BinaryGraphFormat.hash(name) & (slots - 1);
+            while (hash[slot] != 0) slot = (slot + 1) & (slots - 1);
+            hash[slot] = v + 1;
+        }
+        BinaryGraphFormat.Layout layout = new BinaryGraphFormat.Layout(n, m, slots, nameBytes);
+
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             BinaryGraphFormat.Writer w = new BinaryGraphFormat.Writer(ch)) {
+            w.putBytes(BinaryGraphFormat.MAGIC);
+            w.putInt(BinaryGraphFormat.VERSION);
+            w.putInt(g.isDirected() ? BinaryGraphFormat.FLAG_DIRECTED : 0);
+            w.putInt(n);
+            w.putInt(m);
+            w.putInt(slots);
+            w.putInt(0);
+            w.putLong(nameBytes);
+            w.putLong(0);
+
+            for (int v = 0; v < n; v++) w.putInt(g.arcStart(v));
+            w.putInt(m);
+            for (int a = 0; a < m; a++) w.putInt(g.arcTarget(a));
+            for (int a = 0; a < m; a++) w.putFloat(g.arcWeight(a));
+            w.padTo(layout.nameStartAt());
+            long at = 0;
+            for (byte[] name : names) {
+                w.putLong(at);
+                at += name.length;
             }
+            w.putLong(at);
+            for (int h : hash) w.putInt(h);
+            for (byte[] name : names) w.putBytes(name);
+            if (w.position() != layout.totalBytes()) throw new IllegalStateException("Binary layout mismatch");
         }
     }
 }
@@ -0,0 +1,84 @@
+package com.breno.graph.io;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import com.breno.graph.algorithms.Landmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads ALT landmark tables written by LandmarkSaver.
+ *
+ * Format (UTF-8, '#' comments allowed):
+ *   L <landmark>                                  one line per landmark, in order
+ *   D <vertex> <from_1> <to_1> ... <from_k> <to_k>   distances from/to each landmark
+ *
+ * Vertices of the graph without a D line get +Infinity, which only weakens the bound.
+ */
+public final class LandmarkLoader {
+
+    private LandmarkLoader() {}
+
+    public static Landmarks<String> loadFromFile(Graph<String> g, Path path) throws IOException {
+        CsrGraph<String> csr = g.freeze();
+        int n = csr.vertexCount();
+        List<String> landmarks = new ArrayList<>();
+        float[][] from = null;
+        float[][] to = null;
+
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] parts = line.split("\\s+");
+                switch (parts[0]) {
+                    case "L" -> {
+                        if (from != null) throw new IOException("L lines must precede D lines");
+                        if (parts.length < 2) throw new IOException("L expects a vertex");
+                        landmarks.add(parts[1]);
+                    }
+                    case "D" -> {
+                        int k = landmarks.size();
+                        if (from == null) {
+                            from = newTable(k, n);
+                            to = newTable(k, n);
+                        }
+                        if (parts.length != 2 + 2 * k) {
+                            throw new IOException("D expects a vertex and " + (2 * k) + " distances");
+                        }
+                        int v = csr.idOf(parts[1]);
+                        if (v < 0) throw new IOException("Unknown vertex: " + parts[1]);
+                        try {
+                            for (int i = 0; i < k; i++) {
+                                from[i][v] = Float.parseFloat(parts[2 + 2 * i]);
+                                to[i][v] = Float.parseFloat(parts[3 + 2 * i]);
+                            }
+                        } catch (NumberFormatException ex) {
+                            throw new IOException("Bad distance in: " + line, ex);
+                        }
+                    }
+                    default -> throw new IOException("Unknown directive: " + parts[0]);
+                }
+            }
+        }
+        if (from == null) {
+            from = newTable(landmarks.size(), n);
+            to = newTable(landmarks.size(), n);
+        }
+        return new Landmarks<>(csr, landmarks, from, to);
+    }
+
+    private static float[][] newTable(int k, int n) {
+        float[][] t = new float[k][n];
+        for (float[] row : t) Arrays.fill(row, Float.POSITIVE_INFINITY);
+        return t;
+    }
+}
@@ -0,0 +1,42 @@
+package com.breno.graph.io;
+
+import com.breno.graph.algorithms.Landmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/** Saves ALT landmark tables in the format accepted by LandmarkLoader. */
+public final class LandmarkSaver {
+
+    private LandmarkSaver() {}
+
+    /** Conventional location of the landmark file for a graph file: "<name>.landmarks" beside it. */
+    public static Path sidecarOf(Path graphFile) {
+        return graphFile.resolveSibling(graphFile.getFileName() + ".landmarks");
+    }
+
+    public static void saveToFile(Landmarks<String> lm, Path path) throws IOException {
+        List<String> landmarks = lm.landmarks();
+        try (BufferedWriter bw = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (String l : landmarks) {
+                bw.write("L " + l);
+                bw.newLine();
+            }
+            // Float.toString round-trips exactly, so loaded bounds stay admissible
+            for (int v = 0; v < lm.graph().vertexCount(); v++) {
+                String value = lm.graph().valueOf(v);
+                StringBuilder sb = new StringBuilder("D ").append(value);
+                for (int i = 0; i < landmarks.size(); i++) {
+                    sb.append(' ').append(lm.fromLandmark(i, value));
+                    sb.append(' ').append(lm.toLandmark(i, value));
+                }
+                bw.write(sb.toString());
+                bw.newLine();
+            }
+        }
+    }
+}
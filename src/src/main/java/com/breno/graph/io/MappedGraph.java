@@ -0,0 +1,161 @@
+package com.breno.graph.io;
+
+import com.breno.graph.Graph;
+import com.breno.graph.IndexedGraph;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only graph backed by a memory-mapped binary graph file (see BinaryGraphFormat).
+ * Nothing is copied onto the heap when opening: arcs, weights, names and the name
+ * hash table are read straight from the mapping, so a graph is usable as soon as
+ * the header is validated and pages are faulted in on demand.
+ * The mapping lives in a shared arena; close() unmaps it, after which any access fails.
+ */
+public final class MappedGraph implements IndexedGraph<String>, AutoCloseable {
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment seg;
+    private final boolean directed;
+    private final int n;
+    private final int m;
+    private final int slotMask;
+    private final long offsetsAt, targetsAt, weightsAt, nameStartAt, hashAt, namesAt;
+
+    private MappedGraph(Arena arena, MemorySegment seg) throws IOException {
+        this.arena = arena;
+        this.seg = seg;
+        if (seg.byteSize() < BinaryGraphFormat.HEADER_BYTES) throw new IOException("File too short for a graph header");
+        for (int i = 0; i < BinaryGraphFormat.MAGIC.length; i++) {
+            if (seg.get(ValueLayout.JAVA_BYTE, i) != BinaryGraphFormat.MAGIC[i]) throw new IOException("Not a binary graph file");
+        }
+        int version = seg.get(INT, 8);
+        if (version != BinaryGraphFormat.VERSION) throw new IOException("Unsupported binary graph version: " + version);
+        this.directed = (seg.get(INT, 12) & BinaryGraphFormat.FLAG_DIRECTED) != 0;
+        this.n = seg.get(INT, 16);
+        this.m = seg.get(INT, 20);
+        int slots = seg.get(INT, 24);
+        long nameBytes = seg.get(LONG, 32);
+        if (n < 0 || m < 0 || Integer.bitCount(slots) != 1 || nameBytes < 0) throw new IOException("Corrupt graph header");
+        BinaryGraphFormat.Layout layout = new BinaryGraphFormat.Layout(n, m, slots, nameBytes);
+        if (layout.totalBytes() != seg.byteSize()) throw new IOException("File size does not match graph header");
+        this.slotMask = slots - 1;
+        this.offsetsAt = layout.offsetsAt();
+        this.targetsAt = layout.targetsAt();
+        this.weightsAt = layout.weightsAt();
+        this.nameStartAt = layout.nameStartAt();
+        this.hashAt = layout.hashAt();
+        this.namesAt = layout.namesAt();
+    }
+
+    /** Maps path read-only. The caller owns the result and must close it. */
+    public static MappedGraph open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MemorySegment seg = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size(), arena);
+            return new MappedGraph(arena, seg);
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    public int arcCount() {
+        return m;
+    }
+
+    @Override
+    public int idOf(String value) {
+        byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        MemorySegment keySeg = MemorySegment.ofArray(key);
+        for (int slot = BinaryGraphFormat.hash(value) & slotMask; ; slot = (slot + 1) & slotMask) {
+            int entry = seg.get(INT, hashAt + 4L * slot);
+            if (entry == 0) return -1;
+            int id = entry - 1;
+            long start = namesAt + seg.get(LONG, nameStartAt + 8L * id);
+            long end = namesAt + seg.get(LONG, nameStartAt + 8L * (id + 1));
+            if (end - start == key.length
+                    && MemorySegment.mismatch(seg, start, end, keySeg, 0, key.length) == -1) {
+                return id;
+            }
+        }
+    }
+
+    @Override
+    public String valueOf(int id) {
+        long start = seg.get(LONG, nameStartAt + 8L * id);
+        long end = seg.get(LONG, nameStartAt + 8L * (id + 1));
+        byte[] bytes = seg.asSlice(namesAt + start, end - start).toArray(ValueLayout.JAVA_BYTE);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int arcStart(int v) {
+        return seg.get(INT, offsetsAt + 4L * v);
+    }
+
+    @Override
+    public int arcEnd(int v) {
+        return seg.get(INT, offsetsAt + 4L * (v + 1));
+    }
+
+    @Override
+    public int arcTarget(int arc) {
+        return seg.get(INT, targetsAt + 4L * arc);
+    }
+
+    @Override
+    public float arcWeight(int arc) {
+        return seg.get(FLOAT, weightsAt + 4L * arc);
+    }
+
+    /** Materialises an ordinary mutable Graph (e.g. to edit it or save it as text). */
+    public Graph<String> toGraph() {
+        Graph<String> g = new Graph<>(directed);
+        String[] names = new String[n];
+        for (int v = 0; v < n; v++) {
+            names[v] = valueOf(v);
+            g.addVertex(names[v]);
+        }
+        for (int u = 0; u < n; u++) {
+            boolean skipLoop = false;
+            for (int a = arcStart(u), end = arcEnd(u); a < end; a++) {
+                int v = arcTarget(a);
+                if (!directed) {
+                    // each undirected edge is stored as two arcs; keep one of them
+                    if (v < u) continue;
+                    if (v == u && (skipLoop = !skipLoop)) continue;
+                }
+                g.addEdge(names[u], names[v], arcWeight(a));
+            }
+        }
+        return g;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
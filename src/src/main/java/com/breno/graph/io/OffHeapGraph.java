@@ -0,0 +1,418 @@
+package com.breno.graph.io;
+
+import com.breno.graph.IntIndexedGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Int-keyed CSR graph stored entirely outside the Java heap, either in native memory or
+ * in a memory-mapped file. Only this object and the per-vertex state of an algorithm run
+ * (e.g. Dijkstra's float[] / int[]) are on the heap; arcs, weights, the vertex keys and
+ * the key hash table are read from the segment, so the heap and GC pauses stay the same
+ * whatever the arc count. A file-backed graph may be larger than RAM: the page cache
+ * holds what is in use.
+ *
+ * Built by a Builder, which also keeps its edge list and key table off-heap (in temporary
+ * files next to the target when building a file), or reopened with open(). The segment
+ * lives in a shared arena, so any number of threads may read it; close() releases it,
+ * after which any access fails. Arc indexes are ints, like every IndexedGraph, which caps
+ * one graph at Integer.MAX_VALUE - 8 stored arcs. The file stores the arc count and the
+ * offsets as longs all the same, so the format need not change if that cap is lifted;
+ * open() rejects a file whose arc count does not fit, and offsets are narrowed on read.
+ *
+ * File layout (little-endian, offsets 8-byte aligned, every other section 4-byte aligned):
+ *
+ *   header (48 bytes)
+ *     0  magic "INTGRAPH"        8 bytes
+ *     8  version                 int (2)
+ *    12  flags                   int (bit 0: directed)
+ *    16  vertex count n          int
+ *    20  hash slots s            int (power of two)
+ *    24  arc count m             long
+ *    32  reserved                long + long
+ *   keys      int[n]     vertex key of each id
+ *   table     int[2s]    open-addressing (key, id + 1) pairs by hash(key), id + 1 = 0 for empty
+ *   padding   0 or 4 bytes, up to a multiple of 8
+ *   offsets   long[n+1]  CSR arc offsets per vertex
+ *   targets   int[m]     arc heads
+ *   weights   float[m]   arc weights
+ */
+public final class OffHeapGraph implements IntIndexedGraph, AutoCloseable {
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final byte[] MAGIC = "INTGRAPH".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2;
+    private static final int FLAG_DIRECTED = 1;
+    private static final long HEADER_BYTES = 48;
+
+    private final Arena arena;
+    private final MemorySegment seg;
+    private final boolean directed;
+    private final int n;
+    private final int m;
+    private final int slotMask;
+    private final long keysAt, tableAt, offsetsAt, targetsAt, weightsAt;
+
+    private OffHeapGraph(Arena arena, MemorySegment seg) throws IOException {
+        this.arena = arena;
+        this.seg = seg;
+        if (seg.byteSize() < HEADER_BYTES) throw new IOException("File too short for a graph header");
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (seg.get(ValueLayout.JAVA_BYTE, i) != MAGIC[i]) throw new IOException("Not an int graph file");
+        }
+        int version = seg.get(INT, 8);
+        if (version != VERSION) throw new IOException("Unsupported int graph version: " + version);
+        this.directed = (seg.get(INT, 12) & FLAG_DIRECTED) != 0;
+        this.n = seg.get(INT, 16);
+        int slots = seg.get(INT, 20);
+        long arcs = seg.get(LONG, 24);
+        if (n < 0 || arcs < 0 || Integer.bitCount(slots) != 1 || slots <= n) throw new IOException("Corrupt graph header");
+        if (arcs > Integer.MAX_VALUE - 8) throw new IOException("Too many arcs for int arc indexes: " + arcs);
+        this.m = (int) arcs;
+        Layout layout = new Layout(n, m, slots);
+        if (layout.totalBytes() != seg.byteSize()) throw new IOException("File size does not match graph header");
+        if (seg.get(LONG, layout.offsetsAt()) != 0 || seg.get(LONG, layout.offsetsAt() + 8L * n) != m) {
+            throw new IOException("Arc offsets do not match graph header");
+        }
+        this.slotMask = slots - 1;
+        this.keysAt = layout.keysAt();
+        this.tableAt = layout.tableAt();
+        this.offsetsAt = layout.offsetsAt();
+        this.targetsAt = layout.targetsAt();
+        this.weightsAt = layout.weightsAt();
+    }
+
+    /** Maps a file written by a file-backed Builder, read-only. The caller owns the result and must close it. */
+    public static OffHeapGraph open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new OffHeapGraph(arena, ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size(), arena));
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    /** Builder whose graph lives in native memory and is gone once closed. */
+    public static Builder builder(boolean directed) {
+        return new Builder(directed, null);
+    }
+
+    /** Builder that writes the graph to file (replacing it), for reuse through open(). */
+    public static Builder builder(boolean directed, Path file) {
+        return new Builder(directed, file);
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    public int arcCount() {
+        return m;
+    }
+
+    @Override
+    public int indexOf(int key) {
+        for (int slot = hash(key) & slotMask; ; slot = (slot + 1) & slotMask) {
+            long at = tableAt + 8L * slot;
+            int entry = seg.get(INT, at + 4);
+            if (entry == 0) return -1;
+            if (seg.get(INT, at) == key) return entry - 1;
+        }
+    }
+
+    @Override
+    public int keyAt(int id) {
+        return seg.get(INT, keysAt + 4L * id);
+    }
+
+    @Override
+    public int arcStart(int v) {
+        return (int) seg.get(LONG, offsetsAt + 8L * v);
+    }
+
+    @Override
+    public int arcEnd(int v) {
+        return (int) seg.get(LONG, offsetsAt + 8L * (v + 1));
+    }
+
+    @Override
+    public int arcTarget(int arc) {
+        return seg.get(INT, targetsAt + 4L * arc);
+    }
+
+    @Override
+    public float arcWeight(int arc) {
+        return seg.get(FLOAT, weightsAt + 4L * arc);
+    }
+
+    /** Releases the segment; later accesses throw IllegalStateException. Closing twice is harmless. */
+    @Override
+    public void close() {
+        if (arena.scope().isAlive()) arena.close();
+    }
+
+    /** Key hash of the table; written into files, so it must never change. */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Section offsets for given sizes. */
+    record Layout(int n, int m, int slots) {
+        long keysAt() { return HEADER_BYTES; }
+        long tableAt() { return keysAt() + 4L * n; }
+        long offsetsAt() { return (tableAt() + 8L * slots + 7) & ~7L; }
+        long targetsAt() { return offsetsAt() + 8L * (n + 1); }
+        long weightsAt() { return targetsAt() + 4L * m; }
+        long totalBytes() { return weightsAt() + 4L * m; }
+    }
+
+    /**
+     * Collects vertices and edges off-heap, then lays them out as CSR in build(). Vertex
+     * keys get ids in order of first appearance, and each vertex's arcs keep the order the
+     * edges were added in, as in Graph; undirected edges become two arcs. Must be used from
+     * the thread that created it; close() (or build()) releases the temporary storage.
+     */
+    public static final class Builder implements AutoCloseable {
+        private static final long EDGE_BYTES = 12;      // from id, to id, weight
+
+        private final boolean directed;
+        private final Path file;
+        private Spill keys;
+        private Spill table;
+        private Spill edges;
+        private int vertexCount;
+        private long edgeCount;
+        private int slots = 1024;
+
+        private Builder(boolean directed, Path file) {
+            this.directed = directed;
+            this.file = file;
+            try {
+                keys = new Spill(file, 4L * 1024);
+                table = new Spill(file, 8L * slots);
+                edges = new Spill(file, EDGE_BYTES * 1024);
+            } catch (IOException ex) {
+                close();
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        public int vertexCount() {
+            return vertexCount;
+        }
+
+        public long edgeCount() {
+            return edgeCount;
+        }
+
+        /** Adds a vertex if absent. Returns true if it was added. */
+        public boolean addVertex(int key) {
+            int before = vertexCount;
+            return require(key) == before;
+        }
+
+        /** Adds an edge; creates missing vertices automatically. */
+        public void addEdge(int from, int to, float weight) {
+            int vf = require(from);
+            int vt = require(to);
+            long at = EDGE_BYTES * edgeCount;
+            edges.ensure(at + EDGE_BYTES);
+            edges.seg.set(INT, at, vf);
+            edges.seg.set(INT, at + 4, vt);
+            edges.seg.set(FLOAT, at + 8, weight);
+            edgeCount++;
+        }
+
+        private int require(int key) {
+            int mask = slots - 1;
+            int slot = hash(key) & mask;
+            for (int e; (e = table.seg.get(INT, 8L * slot + 4)) != 0; slot = (slot + 1) & mask) {
+                if (table.seg.get(INT, 8L * slot) == key) return e - 1;
+            }
+            int id = vertexCount;
+            if (id == Integer.MAX_VALUE - 8) throw new IllegalStateException("Too many vertices");
+            keys.ensure(4L * (id + 1));
+            keys.seg.set(INT, 4L * id, key);
+            table.seg.set(INT, 8L * slot, key);
+            table.seg.set(INT, 8L * slot + 4, ++vertexCount);
+            if (vertexCount > slots - (slots >> 2)) rehash();       // load factor 0.75
+            return id;
+        }
+
+        private void rehash() {
+            int grown = slots * 2, mask = grown - 1;
+            Spill next;
+            try {
+                next = new Spill(file, 8L * grown);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            for (int id = 0; id < vertexCount; id++) {
+                int key = keys.seg.get(INT, 4L * id);
+                int slot = hash(key) & mask;
+                while (next.seg.get(INT, 8L * slot + 4) != 0) slot = (slot + 1) & mask;
+                next.seg.set(INT, 8L * slot, key);
+                next.seg.set(INT, 8L * slot + 4, id + 1);
+            }
+            table.close();
+            table = next;
+            slots = grown;
+        }
+
+        /**
+         * Lays the graph out as CSR: arc counts per tail, prefix sums, then one pass over the
+         * edges that places each arc at its tail's cursor. The cursors are the offsets array
+         * itself, shifted back by one vertex afterwards. Closes this builder.
+         */
+        public OffHeapGraph build() throws IOException {
+            long arcs = directed ? edgeCount : 2 * edgeCount;
+            if (arcs > Integer.MAX_VALUE - 8) {
+                close();
+                throw new IllegalStateException("Too many arcs for int arc indexes: " + arcs);
+            }
+            int n = vertexCount, m = (int) arcs;
+            Layout layout = new Layout(n, m, slots);
+            Arena arena = Arena.ofShared();
+            try {
+                MemorySegment seg;
+                if (file == null) {
+                    seg = arena.allocate(layout.totalBytes(), 8);
+                } else {
+                    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        seg = ch.map(FileChannel.MapMode.READ_WRITE, 0, layout.totalBytes(), arena);
+                    }
+                }
+                MemorySegment.copy(MAGIC, 0, seg, ValueLayout.JAVA_BYTE, 0, MAGIC.length);
+                seg.set(INT, 8, VERSION);
+                seg.set(INT, 12, directed ? FLAG_DIRECTED : 0);
+                seg.set(INT, 16, n);
+                seg.set(INT, 20, slots);
+                seg.set(LONG, 24, m);
+                MemorySegment.copy(keys.seg, 0, seg, layout.keysAt(), 4L * n);
+                MemorySegment.copy(table.seg, 0, seg, layout.tableAt(), 8L * slots);
+
+                long off = layout.offsetsAt(), tgt = layout.targetsAt(), wgt = layout.weightsAt();
+                for (long i = 0; i < edgeCount; i++) {
+                    bump(seg, off + 8L * (edges.seg.get(INT, EDGE_BYTES * i) + 1));
+                    if (!directed) bump(seg, off + 8L * (edges.seg.get(INT, EDGE_BYTES * i + 4) + 1));
+                }
+                for (int v = 0; v < n; v++) {
+                    seg.set(LONG, off + 8L * (v + 1), seg.get(LONG, off + 8L * (v + 1)) + seg.get(LONG, off + 8L * v));
+                }
+                for (long i = 0; i < edgeCount; i++) {
+                    int u = edges.seg.get(INT, EDGE_BYTES * i), v = edges.seg.get(INT, EDGE_BYTES * i + 4);
+                    float w = edges.seg.get(FLOAT, EDGE_BYTES * i + 8);
+                    place(seg, off, tgt, wgt, u, v, w);
+                    if (!directed) place(seg, off, tgt, wgt, v, u, w);
+                }
+                for (int v = n - 1; v > 0; v--) seg.set(LONG, off + 8L * v, seg.get(LONG, off + 8L * (v - 1)));
+                seg.set(LONG, off, 0L);
+
+                if (file != null) seg.force();
+                return new OffHeapGraph(arena, seg);
+            } catch (IOException | RuntimeException ex) {
+                arena.close();
+                throw ex;
+            } finally {
+                close();
+            }
+        }
+
+        private static void bump(MemorySegment seg, long at) {
+            seg.set(LONG, at, seg.get(LONG, at) + 1);
+        }
+
+        private static void place(MemorySegment seg, long off, long tgt, long wgt, int u, int v, float w) {
+            long arc = seg.get(LONG, off + 8L * u);
+            seg.set(LONG, off + 8L * u, arc + 1);
+            seg.set(INT, tgt + 4L * arc, v);
+            seg.set(FLOAT, wgt + 4L * arc, w);
+        }
+
+        /** Drops the temporary storage; the builder cannot be used afterwards. */
+        @Override
+        public void close() {
+            for (Spill s : new Spill[] {keys, table, edges}) {
+                if (s != null) s.close();
+            }
+            keys = table = edges = null;
+        }
+    }
+
+    /**
+     * Growable off-heap buffer: native memory, or a temporary file (deleted on close) in the
+     * target's directory that is remapped larger as it fills. New bytes read as zero.
+     */
+    private static final class Spill {
+        private final FileChannel ch;
+        private Arena arena;
+        MemorySegment seg;
+
+        Spill(Path target, long bytes) throws IOException {
+            Path dir = target == null ? null : target.toAbsolutePath().getParent();
+            this.ch = dir == null ? null : FileChannel.open(Files.createTempFile(dir, "offheap-", ".tmp"),
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+            this.arena = Arena.ofConfined();
+            try {
+                this.seg = allocate(arena, bytes);
+            } catch (IOException | RuntimeException ex) {
+                close();
+                throw ex;
+            }
+        }
+
+        void ensure(long bytes) {
+            if (bytes <= seg.byteSize()) return;
+            long cap = Math.max(bytes, seg.byteSize() + (seg.byteSize() >> 1));
+            Arena next = Arena.ofConfined();
+            try {
+                MemorySegment grown = allocate(next, cap);
+                if (ch == null) MemorySegment.copy(seg, 0, grown, 0, seg.byteSize());
+                arena.close();
+                arena = next;
+                seg = grown;
+            } catch (IOException ex) {
+                next.close();
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /** A mapping always starts at offset 0, so the file's contents carry over when it grows. */
+        private MemorySegment allocate(Arena in, long bytes) throws IOException {
+            if (ch == null) return in.allocate(bytes, 8);
+            return ch.map(FileChannel.MapMode.READ_WRITE, 0, bytes, in);
+        }
+
+        void close() {
+            arena.close();
+            if (ch != null) {
+                try {
+                    ch.close();
+                } catch (IOException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+    }
+}
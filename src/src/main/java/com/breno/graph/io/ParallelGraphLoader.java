@@ -0,0 +1,356 @@
+package com.breno.graph.io;
+
+import com.breno.graph.CsrGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel loader for the GraphLoader text format, straight into a CSR snapshot.
+ *
+ * The file is cut into byte ranges aligned to line starts, which one fork-join task
+ * per core claims in file order and parses with its own name table. The per-task names
+ * are then merged through a concurrent dictionary that keeps each name's first
+ * appearance, so vertex ids follow the order in which vertices first appear in the
+ * file no matter how the work was scheduled. Arcs are placed by a counting sort on their source
+ * (degree count, prefix sum, scatter), and each vertex's arcs are put back in file
+ * order, so the result has exactly the vertices and per-vertex arc lists that
+ * GraphLoader.loadFromFile(path).freeze() has.
+ */
+public final class ParallelGraphLoader {
+    private ParallelGraphLoader() {}
+
+    /** Ranges are at least this long, so small files stay on one task. */
+    static final long MIN_CHUNK = 1 << 20;
+    /** Upper bound for one range, so large files get enough ranges to balance. */
+    static final long MAX_CHUNK = 64L << 20;
+
+    public static CsrGraph<String> load(Path path) throws IOException {
+        return load(path, ForkJoinPool.commonPool());
+    }
+
+    public static CsrGraph<String> load(Path path, ForkJoinPool pool) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = lineAlignedBounds(ch, chunkCount(ch.size(), pool.getParallelism()));
+            Worker[] workers = new Worker[Math.min(pool.getParallelism(), bounds.length - 1)];
+            for (int j = 0; j < workers.length; j++) workers[j] = new Worker();
+            Chunk[] chunks = parseChunks(ch, bounds, workers, pool);
+            boolean directed = checkChunks(chunks);
+            return build(directed, chunks, workers, pool);
+        }
+    }
+
+    static int chunkCount(long size, int parallelism) {
+        long byCores = Math.max(1, Math.min(size / MIN_CHUNK, 4L * parallelism));
+        long bySize = (size + MAX_CHUNK - 1) / MAX_CHUNK;
+        return (int) Math.max(byCores, bySize);
+    }
+
+    /** Start offsets of the ranges (each at the start of a line) followed by the file size; empty ranges dropped. */
+    static long[] lineAlignedBounds(FileChannel ch, int count) throws IOException {
+        long size = ch.size();
+        long[] bounds = new long[count + 1];
+        bounds[count] = size;
+        ByteBuffer bb = ByteBuffer.allocate(64 * 1024);
+        for (int k = 1; k < count; k++) {
+            long p = Math.max(size * k / count, bounds[k - 1]);
+            if (p == 0) continue;
+            // a line starts at p iff p == 0 or byte p-1 is '\n'
+            long scan = p - 1;
+            find:
+            while (scan < size) {
+                bb.clear();
+                int r = ch.read(bb, scan);
+                if (r <= 0) {
+                    scan = size;
+                    break;
+                }
+                for (int i = 0; i < r; i++) {
+                    if (bb.get(i) == '\n') {
+                        scan += i;
+                        break find;
+                    }
+                }
+                scan += r;
+            }
+            bounds[k] = Math.min(scan + 1, size);
+        }
+        int kept = 0;
+        for (int k = 0; k < count; k++) {
+            if (bounds[k] < bounds[k + 1]) bounds[kept++] = bounds[k];
+        }
+        bounds[kept] = size;
+        return Arrays.copyOf(bounds, kept + 1);
+    }
+
+    private static Chunk[] parseChunks(FileChannel ch, long[] bounds, Worker[] workers, ForkJoinPool pool)
+            throws IOException {
+        int count = bounds.length - 1;
+        Chunk[] chunks = new Chunk[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger firstFailed = new AtomicInteger(Integer.MAX_VALUE);
+        List<Callable<Void>> tasks = new ArrayList<>(workers.length);
+        for (Worker w : workers) {
+            tasks.add(() -> {
+                // chunks are claimed in increasing order, so a worker meets each name first in its earliest chunk
+                for (int k; (k = next.getAndIncrement()) < count; ) {
+                    // ranges after a failed one are never reported, so don't bother parsing them
+                    if (firstFailed.get() < k) break;
+                    Chunk c = new Chunk(k, w);
+                    chunks[k] = c;
+                    w.current = c;
+                    TextGraphParser parser = new TextGraphParser(w, w.names);
+                    try {
+                        GraphLoader.parseRange(ch, bounds[k], bounds[k + 1], parser);
+                    } catch (IOException | RuntimeException ex) {
+                        c.failure = ex;
+                        firstFailed.accumulateAndGet(k, Math::min);
+                    }
+                    c.lines = parser.lines();
+                }
+                return null;
+            });
+        }
+        for (Future<Void> f : pool.invokeAll(tasks)) join(f);
+        return chunks;
+    }
+
+    /**
+     * Replays the per-range outcomes in file order: reports the first error with its
+     * absolute line number, enforces DIRECTED-before-content across ranges and returns
+     * the effective DIRECTED value (last one wins, default false).
+     */
+    private static boolean checkChunks(Chunk[] chunks) throws IOException {
+        boolean directed = false, seenContent = false;
+        long lineBase = 0;
+        for (Chunk c : chunks) {
+            if (c.firstDirectedLine > 0 && seenContent) {
+                throw new TextGraphParser.ParseException(lineBase + c.firstDirectedLine, GraphLoader.DIRECTED_TOO_LATE);
+            }
+            if (c.failure instanceof TextGraphParser.ParseException pe) {
+                throw new TextGraphParser.ParseException(lineBase + pe.line, pe.reason);
+            }
+            if (c.failure instanceof IOException io) throw io;
+            if (c.failure instanceof RuntimeException re) throw re;
+            if (c.firstDirectedLine > 0) directed = c.lastDirected;
+            seenContent |= c.hasContent;
+            lineBase += c.lines;
+        }
+        return directed;
+    }
+
+    /** Global vertex ids in order of first appearance; fills every worker's toGlobal and returns the names by id. */
+    private static String[] assignIds(Worker[] workers, int chunkCount, ForkJoinPool pool) {
+        // 1. earliest (chunk, ordinal) of every name over all workers
+        ConcurrentHashMap<String, Long> firstSeen = new ConcurrentHashMap<>();
+        for (Worker w : workers) {
+            parallel(pool, w.names.size(), i -> firstSeen.merge(w.names.name(i), w.firstKey[i], Math::min));
+        }
+        int n = firstSeen.size();
+
+        // 2. bucket the owning entries by chunk, then order each bucket by ordinal
+        int[] entryBase = new int[workers.length + 1];
+        for (int j = 0; j < workers.length; j++) entryBase[j + 1] = entryBase[j] + workers[j].names.size();
+        AtomicIntegerArray cursor = new AtomicIntegerArray(chunkCount + 1);
+        for (Worker w : workers) {
+            parallel(pool, w.names.size(), i -> {
+                if (firstSeen.get(w.names.name(i)) == w.firstKey[i]) cursor.incrementAndGet(chunkOf(w.firstKey[i]) + 1);
+            });
+        }
+        int[] chunkStart = new int[chunkCount + 1];
+        for (int k = 0; k < chunkCount; k++) {
+            chunkStart[k + 1] = chunkStart[k] + cursor.get(k + 1);
+            cursor.set(k, chunkStart[k]);
+        }
+        long[] order = new long[n];  // ordinal << 32 | entry index
+        for (int j = 0; j < workers.length; j++) {
+            Worker w = workers[j];
+            int base = entryBase[j];
+            parallel(pool, w.names.size(), i -> {
+                long key = w.firstKey[i];
+                if (firstSeen.get(w.names.name(i)) == key) {
+                    order[cursor.getAndIncrement(chunkOf(key))] = ((long) (int) key << 32) | (base + i);
+                }
+            });
+        }
+        parallel(pool, chunkCount, k -> Arrays.sort(order, chunkStart[k], chunkStart[k + 1]));
+
+        // 3. publish ids through the dictionary, then every worker maps its local ids
+        String[] values = new String[n];
+        parallel(pool, n, id -> {
+            int entry = (int) order[id];
+            int j = Arrays.binarySearch(entryBase, entry);
+            if (j < 0) j = -j - 2;
+            else while (workers[j].names.size() == 0) j++;
+            values[id] = workers[j].names.name(entry - entryBase[j]);
+            firstSeen.put(values[id], (long) id);
+        });
+        for (Worker w : workers) {
+            w.toGlobal = new int[w.names.size()];
+            parallel(pool, w.names.size(), i -> w.toGlobal[i] = (int) (long) firstSeen.get(w.names.name(i)));
+        }
+        return values;
+    }
+
+    private static CsrGraph<String> build(boolean directed, Chunk[] chunks, Worker[] workers, ForkJoinPool pool) {
+        int count = chunks.length;
+        String[] values = assignIds(workers, count, pool);
+        int n = values.length;
+
+        // edges in file order with global ids
+        long[] edgeBase = new long[count + 1];
+        for (int k = 0; k < count; k++) edgeBase[k + 1] = edgeBase[k] + chunks[k].edges;
+        long arcsLong = directed ? edgeBase[count] : 2 * edgeBase[count];
+        if (arcsLong > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many arcs for a CSR snapshot: " + arcsLong);
+        }
+        int edges = (int) edgeBase[count];
+        int arcs = (int) arcsLong;
+        int[] src = new int[edges];
+        int[] dst = new int[edges];
+        float[] w = new float[edges];
+        parallel(pool, count, k -> {
+            Chunk c = chunks[k];
+            int[] toGlobal = c.worker.toGlobal;
+            int base = (int) edgeBase[k];
+            for (int e = 0; e < c.edges; e++) {
+                src[base + e] = toGlobal[c.src[e]];
+                dst[base + e] = toGlobal[c.dst[e]];
+                w[base + e] = c.w[e];
+            }
+            chunks[k] = null;
+        });
+
+        // counting sort of arcs by source; undirected edge e is arcs 2e (src->dst) and 2e+1 (dst->src)
+        AtomicIntegerArray cursor = new AtomicIntegerArray(n);
+        parallel(pool, edges, e -> {
+            cursor.incrementAndGet(src[e]);
+            if (!directed) cursor.incrementAndGet(dst[e]);
+        });
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + cursor.get(v);
+            cursor.set(v, offsets[v]);
+        }
+        int[] slots = new int[arcs];
+        parallel(pool, arcs, a -> {
+            int from = directed || (a & 1) == 0 ? src[directed ? a : a >>> 1] : dst[a >>> 1];
+            slots[cursor.getAndIncrement(from)] = a;
+        });
+
+        // restore file order within each vertex, then resolve arcs to (target, weight) in place
+        float[] weights = new float[arcs];
+        parallel(pool, n, v -> {
+            Arrays.sort(slots, offsets[v], offsets[v + 1]);
+            for (int s = offsets[v]; s < offsets[v + 1]; s++) {
+                int a = slots[s];
+                int e = directed ? a : a >>> 1;
+                weights[s] = w[e];
+                slots[s] = directed || (a & 1) == 0 ? dst[e] : src[e];
+            }
+        });
+        return CsrGraph.of(directed, Arrays.asList(values), offsets, slots, weights);
+    }
+
+    private static int chunkOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static void parallel(ForkJoinPool pool, int size, IntConsumer body) {
+        pool.submit(() -> IntStream.range(0, size).parallel().forEach(body)).join();
+    }
+
+    private static void join(Future<Void> f) throws IOException {
+        try {
+            f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error err) throw err;
+            throw new IOException(cause);
+        }
+    }
+
+    /** One parsing task: a name table shared by every chunk it parses, plus each name's first appearance. */
+    private static final class Worker implements TextGraphParser.Sink {
+        final TextGraphParser.NameTable names = new TextGraphParser.NameTable();
+        long[] firstKey = new long[1024];   // local id -> chunk << 32 | order of first appearance in that chunk
+        int keyed;
+        Chunk current;
+        int[] toGlobal;
+
+        /** Names interned since the last callback are new to this worker; stamp them in order. */
+        private void stampNewNames() {
+            while (keyed < names.size()) {
+                if (keyed == firstKey.length) firstKey = Arrays.copyOf(firstKey, keyed * 2);
+                firstKey[keyed++] = ((long) current.index << 32) | current.newNames++;
+            }
+        }
+
+        @Override
+        public void directed(boolean directed, long lineNo) throws IOException {
+            Chunk c = current;
+            if (c.hasContent) throw new TextGraphParser.ParseException(lineNo, GraphLoader.DIRECTED_TOO_LATE);
+            if (c.firstDirectedLine == 0) c.firstDirectedLine = lineNo;
+            c.lastDirected = directed;
+        }
+
+        @Override
+        public void vertex(int id, long lineNo) {
+            current.hasContent = true;
+            stampNewNames();
+        }
+
+        @Override
+        public void edge(int from, int to, float weight, long lineNo) {
+            current.hasContent = true;
+            stampNewNames();
+            current.add(from, to, weight);
+        }
+    }
+
+    /** Parse result of one byte range: the edges it read, in ids of its worker's name table. */
+    private static final class Chunk {
+        final int index;
+        final Worker worker;
+        int[] src = new int[1024];
+        int[] dst = new int[1024];
+        float[] w = new float[1024];
+        int edges;
+        int newNames;
+        boolean hasContent;
+        long firstDirectedLine;     // 0 if none before content
+        boolean lastDirected;
+        long lines;
+        Exception failure;
+
+        Chunk(int index, Worker worker) {
+            this.index = index;
+            this.worker = worker;
+        }
+
+        void add(int from, int to, float weight) {
+            if (edges == src.length) {
+                int cap = edges * 2;
+                src = Arrays.copyOf(src, cap);
+                dst = Arrays.copyOf(dst, cap);
+                w = Arrays.copyOf(w, cap);
+            }
+            src[edges] = from;
+            dst[edges] = to;
+            w[edges] = weight;
+            edges++;
+        }
+    }
+}
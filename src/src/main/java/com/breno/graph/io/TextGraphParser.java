@@ -0,0 +1,279 @@
+package com.breno.graph.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Allocation-light tokenizer for the text graph format, working in place on UTF-8 bytes.
+ * Directives are matched case-insensitively without building Strings, vertex names are
+ * interned to dense ids (in order of first appearance) through a byte-keyed table, and
+ * weights in plain decimal notation are parsed straight from the bytes (anything unusual
+ * falls back to Float.parseFloat, so results are always correctly rounded).
+ */
+final class TextGraphParser {
+
+    /** Receives parsed directives; vertices are ids of the parser's NameTable, lineNo is 1-based. */
+    interface Sink {
+        void directed(boolean directed, long lineNo) throws IOException;
+        void vertex(int id, long lineNo) throws IOException;
+        void edge(int from, int to, float weight, long lineNo) throws IOException;
+
+        /** "-V name": only change logs carry removals, so sinks reject them unless they opt in. */
+        default void removeVertex(int id, long lineNo) throws IOException {
+            throw new ParseException(lineNo, "-V is only allowed in change logs");
+        }
+
+        /** "-E from to". */
+        default void removeEdge(int from, int to, long lineNo) throws IOException {
+            throw new ParseException(lineNo, "-E is only allowed in change logs");
+        }
+    }
+
+    /** A malformed line; line is relative to the start of the parsed input. */
+    static final class ParseException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        final long line;
+        final String reason;
+
+        ParseException(long line, String reason) {
+            super("line " + line + ": " + reason);
+            this.line = line;
+            this.reason = reason;
+        }
+    }
+
+    private static final float[] POW10 = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+
+    private final Sink sink;
+    private final NameTable names;
+    private long lineNo;
+
+    // token bounds filled by nextToken
+    private int tokStart;
+    private int tokEnd;
+
+    TextGraphParser(Sink sink, NameTable names) {
+        this.sink = sink;
+        this.names = names;
+    }
+
+    /** Number of lines parsed so far. */
+    long lines() {
+        return lineNo;
+    }
+
+    /**
+     * Parses every complete line in b[from, to). At end of input the trailing line
+     * without a newline is parsed as well. Returns the offset just past the last line consumed.
+     */
+    int parseLines(byte[] b, int from, int to, boolean endOfInput) throws IOException {
+        int lineStart = from;
+        for (int i = from; i < to; i++) {
+            if (b[i] == '\n') {
+                parseLine(b, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (endOfInput && lineStart < to) {
+            parseLine(b, lineStart, to);
+            lineStart = to;
+        }
+        return lineStart;
+    }
+
+    private void parseLine(byte[] b, int from, int to) throws IOException {
+        lineNo++;
+        int p = skipSpace(b, from, to);
+        if (p == to || b[p] == '#') return;
+        p = nextToken(b, p, to);
+        int cmdStart = tokStart, cmdLen = tokEnd - tokStart;
+
+        if (cmdLen == 1 && (b[cmdStart] | 0x20) == 'v') {
+            p = nextToken(b, p, to);
+            if (tokStart == tokEnd) throw error("V expects a value");
+            sink.vertex(names.intern(b, tokStart, tokEnd), lineNo);
+        } else if (cmdLen == 1 && (b[cmdStart] | 0x20) == 'e') {
+            p = nextToken(b, p, to);
+            int fs = tokStart, fe = tokEnd;
+            p = nextToken(b, p, to);
+            int ts = tokStart, te = tokEnd;
+            nextToken(b, p, to);
+            if (tokStart == tokEnd) throw error("E expects: from to weight");
+            float w;
+            try {
+                w = parseFloat(b, tokStart, tokEnd);
+            } catch (NumberFormatException ex) {
+                throw error("bad weight '" + new String(b, tokStart, tokEnd - tokStart, StandardCharsets.UTF_8) + "'");
+            }
+            sink.edge(names.intern(b, fs, fe), names.intern(b, ts, te), w, lineNo);
+        } else if (cmdLen == 2 && b[cmdStart] == '-' && (b[cmdStart + 1] | 0x20) == 'v') {
+            nextToken(b, p, to);
+            if (tokStart == tokEnd) throw error("-V expects a value");
+            sink.removeVertex(names.intern(b, tokStart, tokEnd), lineNo);
+        } else if (cmdLen == 2 && b[cmdStart] == '-' && (b[cmdStart + 1] | 0x20) == 'e') {
+            p = nextToken(b, p, to);
+            int fs = tokStart, fe = tokEnd;
+            nextToken(b, p, to);
+            if (tokStart == tokEnd) throw error("-E expects: from to");
+            sink.removeEdge(names.intern(b, fs, fe), names.intern(b, tokStart, tokEnd), lineNo);
+        } else if (equalsIgnoreCase(b, cmdStart, tokEnd, "DIRECTED")) {
+            nextToken(b, p, to);
+            if (tokStart == tokEnd) throw error("DIRECTED expects true|false");
+            sink.directed(equalsIgnoreCase(b, tokStart, tokEnd, "true"), lineNo);
+        } else {
+            throw error("Unknown directive: " + new String(b, cmdStart, cmdLen, StandardCharsets.UTF_8));
+        }
+    }
+
+    private ParseException error(String reason) {
+        return new ParseException(lineNo, reason);
+    }
+
+    private static int skipSpace(byte[] b, int p, int to) {
+        while (p < to && (b[p] & 0xff) <= ' ') p++;
+        return p;
+    }
+
+    /** Sets tokStart/tokEnd to the next whitespace-delimited token (empty at end of line); returns the position after it. */
+    private int nextToken(byte[] b, int p, int to) {
+        p = skipSpace(b, p, to);
+        tokStart = p;
+        while (p < to && (b[p] & 0xff) > ' ') p++;
+        tokEnd = p;
+        return p;
+    }
+
+    private static boolean equalsIgnoreCase(byte[] b, int from, int to, String ascii) {
+        if (to - from != ascii.length()) return false;
+        for (int i = 0; i < ascii.length(); i++) {
+            if ((b[from + i] | 0x20) != (ascii.charAt(i) | 0x20)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses [sign] digits [. digits] [(e|E) [sign] digits]. When the significand fits in
+     * 24 bits and the power of ten is at most 10, one float multiply or divide by an exact
+     * power of ten gives the correctly rounded result; otherwise Float.parseFloat decides.
+     */
+    static float parseFloat(byte[] b, int from, int to) {
+        int i = from;
+        boolean neg = false;
+        if (i < to && (b[i] == '-' || b[i] == '+')) neg = b[i++] == '-';
+        long mant = 0;
+        int exp = 0;
+        boolean digits = false, exact = true;
+        for (; i < to && b[i] >= '0' && b[i] <= '9'; i++, digits = true) {
+            if (mant < 100_000_000_000_000_000L) mant = mant * 10 + (b[i] - '0');
+            else { exp++; exact &= b[i] == '0'; }
+        }
+        if (i < to && b[i] == '.') {
+            for (i++; i < to && b[i] >= '0' && b[i] <= '9'; i++, digits = true) {
+                if (mant < 100_000_000_000_000_000L) { mant = mant * 10 + (b[i] - '0'); exp--; }
+                else exact &= b[i] == '0';
+            }
+        }
+        if (digits && i < to && (b[i] | 0x20) == 'e') {
+            int j = i + 1;
+            boolean eneg = false;
+            if (j < to && (b[j] == '-' || b[j] == '+')) eneg = b[j++] == '-';
+            int e = 0;
+            boolean edigits = false;
+            for (; j < to && b[j] >= '0' && b[j] <= '9'; j++, edigits = true) {
+                if (e < 10_000) e = e * 10 + (b[j] - '0');
+            }
+            if (!edigits) return slowParse(b, from, to);
+            exp += eneg ? -e : e;
+            i = j;
+        }
+        if (!digits || i != to || !exact) return slowParse(b, from, to);
+
+        while (mant != 0 && mant % 10 == 0) {
+            mant /= 10;
+            exp++;
+        }
+        if (mant == 0) return neg ? -0f : 0f;
+        if (mant < (1 << 24) && exp >= -10 && exp <= 10) {
+            float f = exp < 0 ? mant / POW10[-exp] : mant * POW10[exp];
+            return neg ? -f : f;
+        }
+        return slowParse(b, from, to);
+    }
+
+    private static float slowParse(byte[] b, int from, int to) {
+        return Float.parseFloat(new String(b, from, to - from, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Open-addressing table from UTF-8 byte ranges to dense ids, one shared String per distinct name.
+     * Each slot packs (hash << 32 | id + 1), so a probe rejects most mismatches without
+     * touching the byte pool.
+     */
+    static final class NameTable {
+        private long[] slots = new long[1024];  // 0 = empty
+        private byte[] pool = new byte[1 << 16];
+        private int poolSize;
+        private int[] start = new int[257];     // start[id] .. start[id + 1] in pool
+        private String[] strings = new String[256];
+        private int count;
+
+        /** Id of the name in b[from, to), adding it if new. */
+        int intern(byte[] b, int from, int to) {
+            int h = 1;
+            for (int i = from; i < to; i++) h = 31 * h + b[i];
+            h = mix(h);
+            int mask = slots.length - 1;
+            for (int s = h & mask; ; s = (s + 1) & mask) {
+                long slot = slots[s];
+                if (slot == 0) return add(b, from, to, h, s);
+                if ((int) (slot >>> 32) == h) {
+                    int id = (int) slot - 1;
+                    if (Arrays.equals(pool, start[id], start[id + 1], b, from, to)) return id;
+                }
+            }
+        }
+
+        String name(int id) {
+            return strings[id];
+        }
+
+        int size() {
+            return count;
+        }
+
+        private int add(byte[] b, int from, int to, int h, int s) {
+            int len = to - from;
+            if (poolSize + len > pool.length) pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolSize + len));
+            if (count == strings.length) {
+                strings = Arrays.copyOf(strings, count * 2);
+                start = Arrays.copyOf(start, count * 2 + 1);
+            }
+            System.arraycopy(b, from, pool, poolSize, len);
+            poolSize += len;
+            strings[count] = new String(b, from, len, StandardCharsets.UTF_8);
+            start[count + 1] = poolSize;
+            slots[s] = ((long) h << 32) | ++count;
+            if (count * 2 > slots.length) rehash();
+            return count - 1;
+        }
+
+        private void rehash() {
+            long[] bigger = new long[slots.length * 2];
+            int mask = bigger.length - 1;
+            for (long slot : slots) {
+                if (slot == 0) continue;
+                int s = (int) (slot >>> 32) & mask;
+                while (bigger[s] != 0) s = (s + 1) & mask;
+                bigger[s] = slot;
+            }
+            slots = bigger;
+        }
+
+        private static int mix(int h) {
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
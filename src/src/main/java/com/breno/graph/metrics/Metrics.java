@@ -0,0 +1,81 @@
+package com.breno.graph.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of metrics listeners for the instrumented algorithms: Dijkstra (all entry
+ * points), Graph.bfs and ParallelBfs.depths. The algorithms keep their counters in
+ * plain fields that they update anyway, and ask for a Probe once per run; with no
+ * listener registered that is a single volatile read and nothing else is measured.
+ */
+public final class Metrics {
+    private Metrics() {}
+
+    private static final List<MetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    public static void addListener(MetricsListener l) {
+        listeners.add(l);
+    }
+
+    public static void removeListener(MetricsListener l) {
+        listeners.remove(l);
+    }
+
+    public static boolean enabled() {
+        return !listeners.isEmpty();
+    }
+
+    /** Starts timing one run; null when no listener is registered, in which case the caller reports nothing. */
+    public static Probe start(String algorithm, Object source) {
+        return listeners.isEmpty() ? null : new Probe(algorithm, source);
+    }
+
+    /** Same for an int-keyed source, which is only boxed when a listener will see it. */
+    public static Probe start(String algorithm, int source) {
+        return listeners.isEmpty() ? null : new Probe(algorithm, source);
+    }
+
+    /** One run in progress: wall clock and the calling thread's allocation counter at the start. */
+    public static final class Probe {
+        private final String algorithm;
+        private final Object source;
+        private final long startNanos;
+        private final long startBytes;
+
+        private Probe(String algorithm, Object source) {
+            this.algorithm = algorithm;
+            this.source = source;
+            this.startBytes = allocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        /** Ends the run and hands its counters to every listener. */
+        public void finish(int settled, long edgesRelaxed, int pushes, int decreaseKeys, int stalePops, int[] frontierSizes) {
+            long wall = System.nanoTime() - startNanos;
+            long bytes = startBytes < 0 ? -1 : allocatedBytes() - startBytes;
+            RunMetrics m = new RunMetrics(algorithm, source, wall, bytes, settled, edgesRelaxed, pushes,
+                    decreaseKeys, stalePops, frontierSizes);
+            for (MetricsListener l : listeners) l.onRun(m);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean t
+                    && t.isThreadAllocatedMemorySupported()) {
+                t.setThreadAllocatedMemoryEnabled(true);
+                return t;
+            }
+        } catch (UnsupportedOperationException | LinkageError ex) {
+            // no allocation counter on this JVM
+        }
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.breno.graph.metrics;
+
+/** Receives the metrics of every instrumented run, on the thread that made the call. */
+@FunctionalInterface
+public interface MetricsListener {
+    void onRun(RunMetrics metrics);
+}
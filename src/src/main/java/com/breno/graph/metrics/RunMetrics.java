@@ -0,0 +1,45 @@
+package com.breno.graph.metrics;
+
+import java.util.Arrays;
+
+/** Counters of one instrumented run, as delivered to a MetricsListener. */
+public final class RunMetrics {
+    /** "dijkstra", "dijkstra-p2p", "dijkstra-bidirectional", "bfs" or "parallel-bfs". */
+    public final String algorithm;
+    public final Object source;
+    public final long wallNanos;
+    /** Bytes allocated by the calling thread during the run (not by pool workers); -1 if the JVM cannot tell. */
+    public final long allocatedBytes;
+    public final int verticesSettled;
+    /** Arcs scanned out of settled vertices. */
+    public final long edgesRelaxed;
+    public final int heapPushes;
+    /** Relaxations that lowered the key of a vertex already queued. */
+    public final int decreaseKeys;
+    /** Outdated queue entries skipped; always 0 for the indexed-heap engines, which never queue a vertex twice. */
+    public final int stalePops;
+    /** Vertices per BFS level, level 0 first; empty for shortest-path runs. */
+    public final int[] frontierSizes;
+
+    public RunMetrics(String algorithm, Object source, long wallNanos, long allocatedBytes, int verticesSettled,
+                      long edgesRelaxed, int heapPushes, int decreaseKeys, int stalePops, int[] frontierSizes) {
+        this.algorithm = algorithm;
+        this.source = source;
+        this.wallNanos = wallNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.verticesSettled = verticesSettled;
+        this.edgesRelaxed = edgesRelaxed;
+        this.heapPushes = heapPushes;
+        this.decreaseKeys = decreaseKeys;
+        this.stalePops = stalePops;
+        this.frontierSizes = frontierSizes;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + " from " + source + ": " + wallNanos / 1000 + " us, " + allocatedBytes + " B allocated, "
+                + verticesSettled + " settled, " + edgesRelaxed + " arcs, " + heapPushes + " pushes, "
+                + decreaseKeys + " decrease-keys, " + stalePops + " stale pops"
+                + (frontierSizes.length > 0 ? ", frontiers " + Arrays.toString(frontierSizes) : "");
+    }
+}
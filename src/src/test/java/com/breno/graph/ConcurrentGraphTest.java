@@ -0,0 +1,48 @@
+package com.breno.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lock-free reads racing a writer. The writer grows a chain 0 -> 1 -> ... from an empty
+ * graph, so the vertex array is resized several times while readers traverse it.
+ */
+class ConcurrentGraphTest {
+    private static final int ROUNDS = 500;
+    private static final int READERS = 3;
+    private static final int LENGTH = 100;
+
+    @Test
+    void bfsRacingAGrowingGraphSeesAPrefixOfTheChain() throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int round = 0; round < ROUNDS && failure.get() == null; round++) {
+            ConcurrentGraph<Integer> g = new ConcurrentGraph<>(true);
+            g.addVertex(0);
+            AtomicBoolean done = new AtomicBoolean();
+            Thread[] readers = new Thread[READERS];
+            for (int r = 0; r < READERS; r++) {
+                readers[r] = new Thread(() -> {
+                    try {
+                        do {
+                            List<Integer> order = g.bfs(0);
+                            for (int i = 0; i < order.size(); i++) assertEquals(i, (int) order.get(i));
+                        } while (!done.get());
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                });
+                readers[r].start();
+            }
+            for (int v = 0; v < LENGTH; v++) g.addEdge(v, v + 1, 1f);
+            done.set(true);
+            for (Thread t : readers) t.join();
+            if (failure.get() == null) assertEquals(LENGTH + 1, g.bfs(0).size());
+        }
+        if (failure.get() != null) throw new AssertionError("reader failed", failure.get());
+    }
+}
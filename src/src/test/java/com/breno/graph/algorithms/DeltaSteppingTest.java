@@ -0,0 +1,125 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.CsrGraph;
+import com.breno.graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cross-checks delta-stepping against the sequential Dijkstra on random graphs. Weights
+ * are small integers (zero included), so every path length is exact in float and the
+ * distances must match bit for bit whichever shortest path each side settles on.
+ */
+class DeltaSteppingTest {
+    private static final int[] POOL_SIZES = {1, 2, 4};
+
+    @Test
+    void directedRandomGraphsMatchDijkstra() {
+        for (long seed = 1; seed <= 25; seed++) check(randomGraph(true, seed, 0.0));
+    }
+
+    @Test
+    void undirectedRandomGraphsMatchDijkstra() {
+        for (long seed = 1; seed <= 25; seed++) check(randomGraph(false, seed, 0.0));
+    }
+
+    @Test
+    void zeroWeightArcsAndCyclesMatchDijkstra() {
+        for (long seed = 1; seed <= 25; seed++) {
+            check(randomGraph(true, seed, 0.5));
+            check(randomGraph(false, seed, 0.5));
+        }
+        Graph<Integer> cycle = new Graph<>(true);
+        cycle.addEdge(0, 1, 0f);
+        cycle.addEdge(1, 2, 0f);
+        cycle.addEdge(2, 0, 0f);
+        cycle.addEdge(2, 3, 4f);
+        check(cycle.freeze());
+    }
+
+    @Test
+    void unreachableVerticesStayInfinite() {
+        Graph<Integer> g = new Graph<>(true);
+        g.addEdge(0, 1, 2f);
+        g.addEdge(2, 0, 1f);        // 2 reaches 0, not the other way round
+        g.addVertex(3);
+        CsrGraph<Integer> csr = g.freeze();
+        check(csr);
+        Dijkstra.Result<Integer> r = DeltaStepping.shortestPaths(csr, 0);
+        assertEquals(Float.POSITIVE_INFINITY, (float) r.dist.get(2));
+        assertEquals(Float.POSITIVE_INFINITY, (float) r.dist.get(3));
+        assertEquals(List.of(), r.pathTo(3));
+    }
+
+    @Test
+    void rejectsNegativeWeightsAndBadDelta() {
+        Graph<Integer> g = new Graph<>(true);
+        g.addEdge(0, 1, -1f);
+        assertThrows(IllegalArgumentException.class, () -> DeltaStepping.shortestPaths(g.freeze(), 0));
+        Graph<Integer> h = new Graph<>(true);
+        h.addEdge(0, 1, 1f);
+        assertThrows(IllegalArgumentException.class,
+                () -> DeltaStepping.shortestPaths(h.freeze(), 0, 0f, ForkJoinPool.commonPool()));
+    }
+
+    /** Every delta and pool size, from a few sources, against Dijkstra; also checks the parent links. */
+    private static void check(CsrGraph<Integer> g) {
+        float[] deltas = {0.5f, 1f, 3f, 25f, 1000f, DeltaStepping.defaultDelta(g)};
+        int[] sources = {0, g.vertexCount() / 2, g.vertexCount() - 1};
+        for (int p : POOL_SIZES) {
+            ForkJoinPool pool = new ForkJoinPool(p);
+            try {
+                for (float delta : deltas) {
+                    for (int s : sources) {
+                        Dijkstra.Result<Integer> want = Dijkstra.shortestPaths(g, g.valueOf(s));
+                        Dijkstra.Result<Integer> got = DeltaStepping.shortestPaths(g, g.valueOf(s), delta, pool);
+                        for (int v = 0; v < g.vertexCount(); v++) {
+                            Integer value = g.valueOf(v);
+                            String where = "source " + s + ", delta " + delta + ", pool " + p + ", vertex " + value;
+                            assertEquals((float) want.dist.get(value), (float) got.dist.get(value), where);
+                            checkParent(g, got, value, where);
+                        }
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /** A reached non-source vertex has a parent with an arc that accounts for its distance exactly. */
+    private static void checkParent(CsrGraph<Integer> g, Dijkstra.Result<Integer> r, Integer v, String where) {
+        Integer p = r.parent.get(v);
+        float d = r.dist.get(v);
+        if (p == null) {
+            assertTrue(d == 0f || Float.isInfinite(d), where + ": reached vertex without parent");
+            return;
+        }
+        int u = g.idOf(p), t = g.idOf(v);
+        boolean found = false;
+        for (int a = g.arcStart(u); a < g.arcEnd(u) && !found; a++) {
+            found = g.arcTarget(a) == t && r.dist.get(p) + g.arcWeight(a) == d;
+        }
+        assertTrue(found, where + ": parent " + p + " does not explain the distance");
+    }
+
+    /**
+     * n vertices with about 3n random arcs of integer weight 1..20, a zeroShare of them
+     * weight 0, plus a few isolated vertices so that some are always unreachable.
+     */
+    private static CsrGraph<Integer> randomGraph(boolean directed, long seed, double zeroShare) {
+        Random rnd = new Random(seed);
+        int n = 10 + rnd.nextInt(300);
+        Graph<Integer> g = new Graph<>(directed);
+        for (int v = 0; v < n + 3; v++) g.addVertex(v);
+        for (int i = 0, m = 1 + rnd.nextInt(3 * n); i < m; i++) {
+            float w = rnd.nextDouble() < zeroShare ? 0f : 1 + rnd.nextInt(20);
+            g.addEdge(rnd.nextInt(n), rnd.nextInt(n), w);
+        }
+        return g.freeze();
+    }
+}
@@ -0,0 +1,72 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.Edge;
+import com.breno.graph.Graph;
+import com.breno.graph.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Edges added straight through Graph, as the interactive Main does, must keep the order cheap and valid. */
+class DynamicTopologicalOrderTest {
+
+    @Test
+    void edgeFromANewVertexMovesOnlyThatVertex() {
+        Graph<String> g = chain(10_000);
+        try (DynamicTopologicalOrder<String> topo = new DynamicTopologicalOrder<>(g)) {
+            g.addEdge("novo", "v0", 1f);
+            assertEquals(1, topo.lastAffected());
+            assertValid(g, topo);
+        }
+    }
+
+    @Test
+    void edgeIntoAVertexWithNoOtherArcsMovesOnlyThatVertex() {
+        Graph<String> g = new Graph<>(true);
+        g.addVertex("solto");
+        g.addEdge("a", "b", 1f);
+        try (DynamicTopologicalOrder<String> topo = new DynamicTopologicalOrder<>(g)) {
+            for (int i = 0; i < 1000; i++) g.addEdge("b", "c" + i, 1f);
+            g.addEdge("c999", "solto", 1f);
+            assertEquals(1, topo.lastAffected());
+            g.addEdge("c999", "solto", 2f);                // a parallel arc is no new constraint
+            assertValid(g, topo);
+        }
+    }
+
+    @Test
+    void randomInsertionsThroughGraphStayTopological() {
+        Random rnd = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            Graph<Integer> g = new Graph<>(true);
+            for (int v = 0; v < 50; v++) g.addVertex(v);
+            try (DynamicTopologicalOrder<Integer> topo = new DynamicTopologicalOrder<>(g)) {
+                for (int i = 0; i < 150; i++) {
+                    int from = rnd.nextInt(60), to = rnd.nextInt(60);     // 50 .. 59 are new
+                    if (topo.cycleIfAdded(from, to).isEmpty()) g.addEdge(from, to, 1f);
+                }
+                assertValid(g, topo);
+            }
+        }
+    }
+
+    private static Graph<String> chain(int n) {
+        Graph<String> g = new Graph<>(true);
+        for (int i = 0; i + 1 < n; i++) g.addEdge("v" + i, "v" + (i + 1), 1f);
+        return g;
+    }
+
+    private static <T> void assertValid(Graph<T> g, DynamicTopologicalOrder<T> topo) {
+        Map<T, Integer> position = new HashMap<>();
+        for (T v : topo.order()) position.put(v, position.size());
+        assertEquals(g.vertices().size(), position.size());
+        for (Vertex<T> v : g.vertices()) {
+            for (Edge<T> e : g.outgoing(v)) {
+                T a = e.getFrom().getValue(), b = e.getTo().getValue();
+                assertTrue(position.get(a) < position.get(b), a + " -> " + b + " out of order");
+            }
+        }
+    }
+}
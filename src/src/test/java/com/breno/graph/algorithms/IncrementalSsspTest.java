@@ -0,0 +1,109 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.Edge;
+import com.breno.graph.Graph;
+import com.breno.graph.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives IncrementalSssp through seeded random sequences of updates and checks it, after
+ * every step, against a fresh Dijkstra over the same graph. Weights are random floats, so
+ * ties between paths practically never happen and the paths themselves must agree.
+ */
+class IncrementalSsspTest {
+    private static final int SEEDS = 40;
+    private static final int STEPS = 150;
+
+    @Test
+    void directedRandomUpdatesMatchFullRecomputation() {
+        for (long seed = 1; seed <= SEEDS; seed++) run(true, seed);
+    }
+
+    @Test
+    void undirectedRandomUpdatesMatchFullRecomputation() {
+        for (long seed = 1; seed <= SEEDS; seed++) run(false, seed);
+    }
+
+    @Test
+    void removingATreeArcForcesARecomputation() {
+        Graph<String> g = new Graph<>(true);
+        g.addEdge("s", "a", 1f);
+        g.addEdge("a", "b", 1f);
+        g.addEdge("s", "b", 5f);
+        try (IncrementalSssp<String> sssp = new IncrementalSssp<>(g, "s")) {
+            assertEquals(2f, sssp.distance("b"));
+            g.removeEdge("a", "b");
+            assertEquals(5f, sssp.distance("b"));
+            assertEquals(List.of("s", "b"), sssp.pathTo("b"));
+            assertEquals(2, sssp.recomputations());
+        }
+    }
+
+    private static void run(boolean directed, long seed) {
+        Random rnd = new Random(seed);
+        int n = 5 + rnd.nextInt(30);
+        Graph<Integer> g = new Graph<>(directed);
+        for (int v = 0; v < n; v++) g.addVertex(v);
+        for (int i = 0, m = rnd.nextInt(3 * n); i < m; i++) {
+            g.addEdge(rnd.nextInt(n), rnd.nextInt(n), weight(rnd));
+        }
+        int source = 0;
+        try (IncrementalSssp<Integer> sssp = new IncrementalSssp<>(g, source)) {
+            check(g, sssp, source, seed, -1, "initial");
+            for (int step = 0; step < STEPS; step++) {
+                String op = update(g, rnd, n, source);
+                check(g, sssp, source, seed, step, op);
+            }
+        }
+    }
+
+    /** Applies one random update and names it for the failure message. */
+    private static String update(Graph<Integer> g, Random rnd, int n, int source) {
+        int kind = rnd.nextInt(10);
+        if (kind < 4) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            float w = weight(rnd);
+            g.addEdge(a, b, w);
+            return "addEdge " + a + " " + b + " " + w;
+        }
+        if (kind < 7) {
+            Edge<Integer> e = randomArc(g, rnd);
+            if (e == null) return "no arc to decrease";
+            float w = e.getWeight() * rnd.nextFloat();          // a cheaper parallel edge
+            g.addEdge(e.getFrom().getValue(), e.getTo().getValue(), w);
+            return "decrease " + e + " to " + w;
+        }
+        if (kind < 9) {
+            Edge<Integer> e = randomArc(g, rnd);
+            if (e == null) return "no arc to remove";
+            g.removeEdge(e.getFrom().getValue(), e.getTo().getValue());
+            return "removeEdge " + e;
+        }
+        int v = 1 + rnd.nextInt(n - 1);
+        return "removeVertex " + v + " " + g.removeVertex(v);
+    }
+
+    private static Edge<Integer> randomArc(Graph<Integer> g, Random rnd) {
+        List<Edge<Integer>> arcs = new ArrayList<>();
+        for (Vertex<Integer> v : g.vertices()) arcs.addAll(g.outgoing(v));
+        return arcs.isEmpty() ? null : arcs.get(rnd.nextInt(arcs.size()));
+    }
+
+    private static void check(Graph<Integer> g, IncrementalSssp<Integer> sssp, int source, long seed, int step, String op) {
+        Dijkstra.Result<Integer> want = Dijkstra.shortestPaths(g, source);
+        for (Vertex<Integer> vertex : g.vertices()) {
+            int v = vertex.getValue();
+            String where = "seed " + seed + ", step " + step + " (" + op + "), vertex " + v;
+            assertEquals((float) want.dist.get(v), sssp.distance(v), where);
+            assertEquals(want.pathTo(v), sssp.pathTo(v), where);
+        }
+    }
+
+    private static float weight(Random rnd) {
+        return 1 + rnd.nextFloat() * 99;
+    }
+}
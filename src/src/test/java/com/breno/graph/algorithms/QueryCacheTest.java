@@ -0,0 +1,55 @@
+package com.breno.graph.algorithms;
+
+import com.breno.graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Admission in the main region, on a 100-vertex cycle: a BFS entry weighs 496 bytes and a
+ * shortest-path entry 896, so with maxBytes 10000 (window 1000, main 9000) main holds 18
+ * BFS entries and a shortest-path tree needs two of them gone to get in.
+ */
+class QueryCacheTest {
+
+    @Test
+    void refusedCandidateLeavesMainVictimsInPlace() {
+        Graph<Integer> g = new Graph<>(true);
+        for (int v = 0; v < 100; v++) g.addEdge(v, (v + 1) % 100, 1f);
+        QueryCache<Integer> cache = new QueryCache<>(g, 10_000);
+
+        cache.bfs(0);                                   // cold, ends up main's LRU victim
+        for (int i = 0; i < 5; i++) cache.bfs(1);       // hot, right behind it
+        for (int v = 2; v < 20; v++) cache.bfs(v);      // fills main; 18 and 19 are refused
+        cache.shortestPaths(50);
+        cache.shortestPaths(50);                        // frequency 2: beats 0 but not 1
+        long evictions = cache.evictions();
+        cache.bfs(60);                                  // pushes the tree out of the window
+
+        assertEquals(evictions + 1, cache.evictions(), "only the candidate is dropped");
+        long hits = cache.hits();
+        cache.bfs(0);
+        assertEquals(hits + 1, cache.hits(), "the cold victim must still be cached");
+        cache.bfs(1);
+        assertEquals(hits + 2, cache.hits());
+    }
+
+    @Test
+    void admittedCandidateEvictsEveryVictimItNeeds() {
+        Graph<Integer> g = new Graph<>(true);
+        for (int v = 0; v < 100; v++) g.addEdge(v, (v + 1) % 100, 1f);
+        QueryCache<Integer> cache = new QueryCache<>(g, 10_000);
+
+        for (int v = 0; v < 20; v++) cache.bfs(v);
+        for (int i = 0; i < 3; i++) cache.shortestPaths(50);
+        long evictions = cache.evictions();
+        cache.bfs(60);
+
+        assertEquals(evictions + 2, cache.evictions(), "two BFS entries make room for the tree");
+        long hits = cache.hits();
+        cache.shortestPaths(50);
+        assertEquals(hits + 1, cache.hits());
+        cache.bfs(2);
+        assertEquals(hits + 2, cache.hits(), "victims past the freed bytes stay");
+    }
+}